@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    id("me.champeau.gradle.jmh").version("0.5.3")
+}
+
+/*
+ * JMH benchmarks of the plugin configuration hot paths.
+ *
+ * Run the benchmarks with `./gradlew :benchmarks:jmh`. Along with the time, the `gc` profiler
+ * reports the memory allocated per operation (`gc.alloc.rate.norm`), and the `cl` profiler
+ * reports the number of loaded classes (`class.load.norm`). The results are written
+ * to `build/reports/jmh/results.json`.
+ */
+
+dependencies {
+    jmh(project(":plugin"))
+    jmh(gradleApi())
+}
+
+jmh {
+    jmhVersion = "1.27"
+    profilers = listOf("gc", "cl")
+    resultFormat = "JSON"
+    fork = 1
+    warmupIterations = 5
+    iterations = 10
+}
+
+// The code generated by JMH does not comply with the Error Prone checks.
+tasks.withType<JavaCompile>().configureEach {
+    options.errorprone.isEnabled.set(false)
+}
+
+/*
+ * Synthetic builds for the `gradle-profiler` scenarios in the `profiler` directory.
+ *
+ * The build is parameterized by the `synthetic.projects`, `synthetic.protos`,
+ * `synthetic.imports` and `synthetic.languages` properties.
+ */
+
+val pluginVersion: String by extra
+
+fun syntheticProperty(name: String, default: String): String =
+    (findProperty("synthetic.$name") ?: default).toString()
+
+val syntheticProjects = syntheticProperty("projects", "100")
+
+tasks.register("generateSyntheticBuild", JavaExec::class) {
+    description = "Generates a synthetic multi-project build which applies the plugin."
+    dependsOn(":plugin:publishToMavenLocal")
+    classpath = sourceSets.main.get().runtimeClasspath
+    main = "io.spine.tools.gradle.benchmarks.SyntheticBuild"
+    args(
+        "--output", "$buildDir/synthetic/projects-$syntheticProjects",
+        "--plugin-version", pluginVersion,
+        "--projects", syntheticProjects,
+        "--protos", syntheticProperty("protos", "20"),
+        "--imports", syntheticProperty("imports", "2"),
+        "--languages", syntheticProperty("languages", "java=7,js=2,model=1")
+    )
+}
+
+tasks.register("profilerBaseline", JavaExec::class) {
+    description = "Compares the `gradle-profiler` results with the baseline, or records them."
+    classpath = sourceSets.main.get().runtimeClasspath
+    main = "io.spine.tools.gradle.benchmarks.ProfilerBaseline"
+}
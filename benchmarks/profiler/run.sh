@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+#
+# Generates a synthetic build, runs the `gradle-profiler` scenarios over it, and compares
+# the results with the baseline.
+#
+# Usage: benchmarks/profiler/run.sh <projects> [check|record]
+#
+# The check is not gating until the baseline of the build is recorded in `baseline.csv`.
+#
+# Requires `gradle-profiler` on the `PATH`. The other parameters of the synthetic build are
+# passed to Gradle as the `synthetic.*` properties, e.g. `SYNTHETIC_ARGS="-Psynthetic.protos=50"`.
+
+set -euo pipefail
+
+projects="${1:-100}"
+command="${2:-check}"
+root="$(cd "$(dirname "$0")/../.." && pwd)"
+build_dir="$root/benchmarks/build/synthetic/projects-$projects"
+output_dir="$root/benchmarks/build/reports/profiler/projects-$projects"
+
+rm -rf "$build_dir" "$output_dir"
+"$root/gradlew" -p "$root" :benchmarks:generateSyntheticBuild \
+    -Psynthetic.projects="$projects" ${SYNTHETIC_ARGS:-}
+
+gradle-profiler --benchmark \
+    --project-dir "$build_dir" \
+    --scenario-file "$root/benchmarks/profiler/synthetic.scenarios" \
+    --output-dir "$output_dir"
+
+"$root/gradlew" -p "$root" -q :benchmarks:profilerBaseline \
+    --args="$command $root/benchmarks/profiler/baseline.csv projects-$projects $output_dir/benchmark.csv"
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.project.PlugableProject;
+import io.spine.tools.gradle.project.ProjectSourceSuperset;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the configuration performed by the {@code spine} extension.
+ *
+ * <p>Each invocation works with a new project, as the measured operations change the project.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ExtensionBenchmark {
+
+    @Benchmark
+    public Extension build(FreshProject state) {
+        return newExtension(state.project);
+    }
+
+    /**
+     * Creates the extension the way the plugin does when it is applied to a project.
+     */
+    @Benchmark
+    public Extension apply(FreshProject state) {
+        return applyExtension(state.project);
+    }
+
+    @Benchmark
+    public JavaExtension enableJava(BootstrappedProject state) {
+        return state.extension.enableJava();
+    }
+
+    @Benchmark
+    public JavaCodegenExtension setGrpc(JavaProject state) {
+        state.codegen.setGrpc(true);
+        return state.codegen;
+    }
+
+    @Benchmark
+    public JavaCodegenExtension setSpine(JavaProject state) {
+        state.codegen.setSpine(false);
+        return state.codegen;
+    }
+
+    static Extension applyExtension(Project project) {
+        Extension extension = newExtension(project);
+        extension.disableJavaGeneration();
+        return extension;
+    }
+
+    private static Extension newExtension(Project project) {
+        return Extension
+                .newBuilder()
+                .setProject(project)
+                .setDependencyTarget(SpineBasedProject.from(project))
+                .setPluginTarget(new PlugableProject(project))
+                .setLayout(ProjectSourceSuperset.of(project))
+                .setArtifactSnapshot(ArtifactSnapshot.fromResources())
+                .build();
+    }
+
+    /**
+     * A project without the plugin.
+     */
+    @State(Scope.Thread)
+    public static class FreshProject {
+
+        Project project;
+
+        @Setup(Level.Invocation)
+        public void createProject() {
+            project = ProjectBuilder.builder()
+                                    .build();
+        }
+    }
+
+    /**
+     * A project with the plugin applied.
+     */
+    @State(Scope.Thread)
+    public static class BootstrappedProject {
+
+        private Extension extension;
+
+        @Setup(Level.Invocation)
+        public void createProject() {
+            Project project = ProjectBuilder.builder()
+                                            .build();
+            project.getPluginManager()
+                   .apply(BootstrapPlugin.class);
+            extension = project.getExtensions()
+                               .getByType(Extension.class);
+        }
+    }
+
+    /**
+     * A project with the plugin applied and Java enabled.
+     */
+    @State(Scope.Thread)
+    public static class JavaProject {
+
+        private JavaCodegenExtension codegen;
+
+        @Setup(Level.Invocation)
+        public void createProject() {
+            Project project = ProjectBuilder.builder()
+                                            .build();
+            project.getPluginManager()
+                   .apply(BootstrapPlugin.class);
+            codegen = project.getExtensions()
+                             .getByType(Extension.class)
+                             .enableJava()
+                             .getCodegen();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.grpc;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.java;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures adding and removing {@code protoc} built-ins and plugins in large containers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class ProtocPluginBenchmark {
+
+    private static final ProtocPlugin javaLite = ProtocPlugin.withOption(java, "lite");
+    private static final ProtocPlugin grpcPlugin = ProtocPlugin.called(grpc);
+
+    /**
+     * The number of the plugins already present in the container.
+     */
+    @Param({"16", "1024"})
+    public int size;
+
+    private Project project;
+    private NamedDomainObjectContainer<PluginOptions> plugins;
+
+    @Setup(Level.Trial)
+    public void createProject() {
+        project = ProjectBuilder.builder()
+                                .build();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillContainer() {
+        plugins = project.container(PluginOptions.class, PluginOptions::new);
+        for (int i = 0; i < size; i++) {
+            plugins.create("plugin" + i);
+        }
+        grpcPlugin.createIn(plugins);
+    }
+
+    @Benchmark
+    public NamedDomainObjectContainer<PluginOptions> createIn() {
+        javaLite.createIn(plugins);
+        return plugins;
+    }
+
+    @Benchmark
+    public NamedDomainObjectContainer<PluginOptions> removeFrom() {
+        grpcPlugin.removeFrom(plugins);
+        return plugins;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.benchmarks;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The baseline of the {@code gradle-profiler} scenarios run over the {@link SyntheticBuild}s.
+ *
+ * <p>The baseline is a CSV file with the {@code build,scenario,median_ms} columns, where
+ * {@code build} identifies the synthetic build, e.g. {@code projects-100}. The lines starting
+ * with {@code #} are comments.
+ *
+ * <p>Usage:
+ * <pre>
+ *     ProfilerBaseline check &lt;baseline.csv&gt; &lt;build&gt; &lt;benchmark.csv&gt; [tolerance %]
+ *     ProfilerBaseline record &lt;baseline.csv&gt; &lt;build&gt; &lt;benchmark.csv&gt;
+ * </pre>
+ *
+ * <p>The {@code benchmark.csv} file is the one written by {@code gradle-profiler --benchmark}.
+ * The {@code check} command fails if the median time of a scenario exceeds its baseline by more
+ * than the tolerance, 10% by default. The scenarios without a baseline are reported, but do not
+ * fail the check. The {@code record} command replaces the baseline of the build with the medians
+ * of the given results.
+ *
+ * <p>The check of a build is {@linkplain #isGating gating} only once the baseline of the build is
+ * recorded. Until then, the {@code check} command reports the results and always succeeds.
+ */
+public final class ProfilerBaseline {
+
+    private static final String HEADER = "build,scenario,median_ms";
+    private static final String COMMENT = "#";
+    private static final String SCENARIO_ROW = "scenario";
+    private static final String MEASURED_ROW = "measured build";
+    private static final double DEFAULT_TOLERANCE = 10.0;
+    private static final Splitter csv = Splitter.on(',')
+                                                .trimResults();
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ProfilerBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length >= 4, "Usage: (check|record) <baseline> <build> <results>");
+        Path baseline = Paths.get(args[1]);
+        String build = args[2];
+        ImmutableMap<String, Long> results = medians(read(Paths.get(args[3])));
+        switch (args[0]) {
+            case "check":
+                double tolerance = args.length > 4
+                                   ? Double.parseDouble(args[4])
+                                   : DEFAULT_TOLERANCE;
+                List<String> lines = read(baseline);
+                if (!isGating(lines, build)) {
+                    System.out.printf("NON-GATING: no baseline is recorded for `%s` in `%s`. " +
+                                              "The results are reported without a check.%n",
+                                      build, baseline);
+                }
+                List<String> regressions = check(lines, build, results, tolerance);
+                if (!regressions.isEmpty()) {
+                    regressions.forEach(System.err::println);
+                    System.exit(1);
+                }
+                break;
+            case "record":
+                Files.write(baseline, record(read(baseline), build, results), UTF_8);
+                break;
+            default:
+                throw new IllegalArgumentException(format("Unknown command `%s`.", args[0]));
+        }
+    }
+
+    /**
+     * Obtains the median times of the scenarios from the lines of {@code benchmark.csv}.
+     */
+    static ImmutableMap<String, Long> medians(List<String> benchmark) {
+        checkNotNull(benchmark);
+        List<String> scenarios = ImmutableList.of();
+        Map<String, List<Double>> values = new LinkedHashMap<>();
+        for (String line : benchmark) {
+            List<String> cells = csv.splitToList(line);
+            if (cells.get(0)
+                     .equals(SCENARIO_ROW)) {
+                scenarios = cells.subList(1, cells.size());
+            } else if (cells.get(0)
+                            .startsWith(MEASURED_ROW)) {
+                for (int i = 1; i < cells.size() && i <= scenarios.size(); i++) {
+                    if (!cells.get(i)
+                              .isEmpty()) {
+                        values.computeIfAbsent(scenarios.get(i - 1), s -> new ArrayList<>())
+                              .add(Double.parseDouble(cells.get(i)));
+                    }
+                }
+            }
+        }
+        ImmutableMap.Builder<String, Long> result = ImmutableMap.builder();
+        values.forEach((scenario, times) -> result.put(scenario, Math.round(median(times))));
+        return result.build();
+    }
+
+    /**
+     * Tells if the check of the given build may fail, i.e. if the baseline of the build
+     * is recorded.
+     */
+    static boolean isGating(List<String> baseline, String build) {
+        checkNotNull(baseline);
+        checkNotNull(build);
+        return !entries(baseline, build).isEmpty();
+    }
+
+    /**
+     * Compares the results of a build with its baseline.
+     *
+     * @return the descriptions of the regressions, or an empty list if there are none
+     */
+    static ImmutableList<String> check(List<String> baseline,
+                                       String build,
+                                       Map<String, Long> results,
+                                       double tolerancePercent) {
+        checkNotNull(baseline);
+        checkNotNull(build);
+        checkNotNull(results);
+        Map<String, Long> expected = entries(baseline, build);
+        ImmutableList.Builder<String> regressions = ImmutableList.builder();
+        results.forEach((scenario, median) -> {
+            Long reference = expected.get(scenario);
+            if (reference == null) {
+                System.out.printf("%s/%s: %d ms, no baseline.%n", build, scenario, median);
+                return;
+            }
+            double limit = reference * (1 + tolerancePercent / 100);
+            String comparison = format("%s/%s: %d ms, baseline %d ms.",
+                                       build, scenario, median, reference);
+            if (median > limit) {
+                regressions.add(comparison + format(" Regressed by more than %.0f%%.",
+                                                    tolerancePercent));
+            } else {
+                System.out.println(comparison);
+            }
+        });
+        return regressions.build();
+    }
+
+    /**
+     * Replaces the baseline of a build with the given results.
+     *
+     * @return the lines of the new baseline file
+     */
+    static ImmutableList<String> record(List<String> baseline,
+                                        String build,
+                                        Map<String, Long> results) {
+        checkNotNull(baseline);
+        checkNotNull(build);
+        checkNotNull(results);
+        ImmutableList.Builder<String> lines = ImmutableList.builder();
+        boolean hasHeader = false;
+        for (String line : baseline) {
+            if (line.equals(HEADER)) {
+                hasHeader = true;
+            }
+            if (!isEntry(line) || !csv.splitToList(line)
+                                      .get(0)
+                                      .equals(build)) {
+                lines.add(line);
+            }
+        }
+        if (!hasHeader) {
+            lines.add(HEADER);
+        }
+        results.forEach((scenario, median) -> lines.add(format("%s,%s,%d",
+                                                               build, scenario, median)));
+        return lines.build();
+    }
+
+    private static Map<String, Long> entries(List<String> baseline, String build) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String line : baseline) {
+            if (isEntry(line)) {
+                List<String> cells = csv.splitToList(line);
+                if (cells.get(0)
+                         .equals(build)) {
+                    result.put(cells.get(1), Long.parseLong(cells.get(2)));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isEntry(String line) {
+        return !line.trim()
+                    .isEmpty()
+                && !line.startsWith(COMMENT)
+                && !line.equals(HEADER);
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1
+               ? sorted.get(middle)
+               : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static List<String> read(Path file) throws IOException {
+        return Files.exists(file)
+               ? Files.readAllLines(file, UTF_8)
+               : ImmutableList.of();
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A generator of synthetic multi-project builds which apply the Bootstrap plugin.
+ *
+ * <p>Each subproject enables one of the {@linkplain Language languages} and contains a number of
+ * {@code .proto} files. The files of a subproject import one another in a chain. The first file
+ * of a subproject imports the files of several subprojects declared before it, and the subproject
+ * depends on those subprojects.
+ *
+ * <p>The generated build is a Git repository. Along with the {@code baseline} branch, it has
+ * the {@code abi-change} branch, which adds a field to a message imported by other subprojects,
+ * and the {@code comment-change} branch, which only changes a comment in the same file.
+ * The {@code gradle-profiler} scenarios check out these branches to measure incremental builds.
+ *
+ * <p>The build is generated by the {@code generateSyntheticBuild} task of the module.
+ */
+public final class SyntheticBuild {
+
+    static final String BASELINE_BRANCH = "baseline";
+    static final String ABI_CHANGE_BRANCH = "abi-change";
+    static final String COMMENT_CHANGE_BRANCH = "comment-change";
+
+    private static final String EDITED_PROJECT = "p000";
+    private static final long SEED = 42L;
+
+    private final int projects;
+    private final int protos;
+    private final ImmutableMap<Language, Integer> languages;
+    private final int imports;
+    private final String pluginVersion;
+
+    /**
+     * Prevents direct instantiation.
+     */
+    private SyntheticBuild(Builder builder) {
+        this.projects = builder.projects;
+        this.protos = builder.protos;
+        this.languages = ImmutableMap.copyOf(builder.languages);
+        this.imports = builder.imports;
+        this.pluginVersion = checkNotNull(builder.pluginVersion);
+    }
+
+    /**
+     * Generates a synthetic build.
+     *
+     * <p>Usage:
+     * <pre>
+     *     SyntheticBuild --output &lt;dir&gt; --plugin-version &lt;version&gt;
+     *                    [--projects 100] [--protos 20] [--imports 2]
+     *                    [--languages java=7,js=2,model=1]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Builder builder = newBuilder();
+        Path output = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--output":
+                    output = Paths.get(value);
+                    break;
+                case "--plugin-version":
+                    builder.setPluginVersion(value);
+                    break;
+                case "--projects":
+                    builder.setProjects(Integer.parseInt(value));
+                    break;
+                case "--protos":
+                    builder.setProtos(Integer.parseInt(value));
+                    break;
+                case "--imports":
+                    builder.setImports(Integer.parseInt(value));
+                    break;
+                case "--languages":
+                    builder.setLanguages(Language.parseMix(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException(format("Unknown option `%s`.", args[i]));
+            }
+        }
+        checkArgument(output != null, "The `--output` directory is not specified.");
+        SyntheticBuild build = builder.build();
+        build.writeTo(output);
+        build.commitBranches(output);
+    }
+
+    /**
+     * Writes the build into the given directory.
+     *
+     * <p>The directory is expected to be empty or absent.
+     */
+    void writeTo(Path dir) throws IOException {
+        checkNotNull(dir);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < projects; i++) {
+            names.add(projectName(i));
+        }
+        write(dir.resolve("settings.gradle"), settings(names));
+        write(dir.resolve("build.gradle"), rootBuildScript());
+        write(dir.resolve("gradle.properties"), "org.gradle.parallel=true\n" +
+                "org.gradle.jvmargs=-Xmx4g\n");
+        write(dir.resolve(".gitignore"), ".gradle/\nbuild/\n");
+        List<Language> cycle = Language.cycle(languages);
+        Random random = new Random(SEED);
+        for (int i = 0; i < projects; i++) {
+            Language language = cycle.get(i % cycle.size());
+            ImmutableSet<Integer> dependencies = dependencies(i, random);
+            writeProject(dir.resolve(names.get(i)), i, language, dependencies);
+        }
+    }
+
+    private ImmutableSet<Integer> dependencies(int project, Random random) {
+        Set<Integer> result = new TreeSet<>();
+        int count = Math.min(imports, project);
+        while (result.size() < count) {
+            result.add(random.nextInt(project));
+        }
+        return ImmutableSet.copyOf(result);
+    }
+
+    private void writeProject(Path dir, int index, Language language,
+                              ImmutableSet<Integer> dependencies) throws IOException {
+        StringBuilder script = new StringBuilder()
+                .append("plugins {\n")
+                .append("    id 'io.spine.tools.gradle.bootstrap'\n")
+                .append("}\n\n")
+                .append("spine {\n")
+                .append("    ").append(language.call).append('\n')
+                .append("}\n");
+        if (!dependencies.isEmpty()) {
+            script.append("\ndependencies {\n");
+            for (int dependency : dependencies) {
+                script.append(format("    implementation project(':%s')%n",
+                                     projectName(dependency)));
+            }
+            script.append("}\n");
+        }
+        write(dir.resolve("build.gradle"), script.toString());
+        String name = projectName(index);
+        Path protoDir = dir.resolve("src/main/proto/synthetic")
+                           .resolve(name);
+        for (int file = 0; file < protos; file++) {
+            ImmutableSet<Integer> imported = file == 0 ? dependencies : ImmutableSet.of();
+            write(protoDir.resolve(fileName(file)), proto(name, file, imported, ""));
+        }
+    }
+
+    /**
+     * Generates the content of a {@code .proto} file.
+     *
+     * @param project
+     *         the name of the project
+     * @param file
+     *         the index of the file in the project
+     * @param dependencies
+     *         the indexes of the projects whose files are imported
+     * @param extra
+     *         the additional content of the message declared in the file
+     */
+    private String proto(String project, int file, ImmutableSet<Integer> dependencies,
+                         String extra) {
+        StringBuilder proto = new StringBuilder()
+                .append("syntax = \"proto3\";\n\n")
+                .append("package synthetic.").append(project).append(";\n\n")
+                .append("option java_package = \"io.spine.synthetic.").append(project)
+                .append("\";\n")
+                .append("option java_multiple_files = true;\n\n");
+        List<String> fields = new ArrayList<>();
+        fields.add("string id");
+        fields.add("int64 count");
+        fields.add("repeated string tags");
+        for (int dependency : dependencies) {
+            String imported = projectName(dependency);
+            proto.append(format("import \"synthetic/%s/%s\";%n", imported, fileName(0)));
+            fields.add(format("synthetic.%s.%s %s_value", imported, messageName(0), imported));
+        }
+        if (file > 0) {
+            proto.append(format("import \"synthetic/%s/%s\";%n", project, fileName(file - 1)));
+            fields.add(format("%s previous", messageName(file - 1)));
+        }
+        if (!dependencies.isEmpty() || file > 0) {
+            proto.append('\n');
+        }
+        proto.append(format("// The synthetic model #%d of the `%s` project.%n", file, project))
+             .append(format("message %s {%n", messageName(file)));
+        for (int i = 0; i < fields.size(); i++) {
+            proto.append(format("    %s = %d;%n", fields.get(i), i + 1));
+        }
+        proto.append(extra)
+             .append("}\n");
+        return proto.toString();
+    }
+
+    /**
+     * Commits the generated build into a new Git repository and creates the branches with
+     * the edits measured by the {@code gradle-profiler} scenarios.
+     */
+    private void commitBranches(Path dir) throws IOException, InterruptedException {
+        git(dir, "init", "-q");
+        git(dir, "checkout", "-q", "-b", BASELINE_BRANCH);
+        commitAll(dir, "Generate the synthetic build");
+
+        Path edited = dir.resolve(EDITED_PROJECT)
+                         .resolve("src/main/proto/synthetic")
+                         .resolve(EDITED_PROJECT)
+                         .resolve(fileName(0));
+        git(dir, "checkout", "-q", "-b", ABI_CHANGE_BRANCH);
+        write(edited, proto(EDITED_PROJECT, 0, ImmutableSet.of(),
+                            "    string added_field = 100;\n"));
+        commitAll(dir, "Add a field to a shared message");
+
+        git(dir, "checkout", "-q", BASELINE_BRANCH);
+        git(dir, "checkout", "-q", "-b", COMMENT_CHANGE_BRANCH);
+        write(edited, proto(EDITED_PROJECT, 0, ImmutableSet.of(),
+                            "    // A comment which does not change the API.\n"));
+        commitAll(dir, "Change a comment in a shared message");
+
+        git(dir, "checkout", "-q", BASELINE_BRANCH);
+    }
+
+    private static void commitAll(Path dir, String message)
+            throws IOException, InterruptedException {
+        git(dir, "add", "-A");
+        git(dir, "-c", "user.name=synthetic", "-c", "user.email=synthetic@example.com",
+            "commit", "-q", "-m", message);
+    }
+
+    private static void git(Path dir, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(ImmutableList.copyOf(args));
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .inheritIO()
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IOException(format("`%s` failed with the exit code %d.",
+                                         String.join(" ", command), exitCode));
+        }
+    }
+
+    private static String settings(List<String> projects) {
+        StringBuilder settings = new StringBuilder()
+                .append("pluginManagement {\n")
+                .append("    repositories {\n")
+                .append("        mavenLocal()\n")
+                .append("        gradlePluginPortal()\n")
+                .append("    }\n")
+                .append("}\n\n")
+                .append("rootProject.name = 'synthetic-").append(projects.size()).append("'\n\n");
+        for (String project : projects) {
+            settings.append("include '").append(project).append("'\n");
+        }
+        return settings.toString();
+    }
+
+    private String rootBuildScript() {
+        return "plugins {\n" +
+                "    id 'io.spine.tools.gradle.bootstrap' version '" + pluginVersion +
+                "' apply false\n" +
+                "}\n\n" +
+                "subprojects {\n" +
+                "    repositories {\n" +
+                "        mavenLocal()\n" +
+                "    }\n" +
+                "}\n";
+    }
+
+    static String projectName(int index) {
+        return format("p%03d", index);
+    }
+
+    static String fileName(int index) {
+        return format("model_%d.proto", index);
+    }
+
+    private static String messageName(int index) {
+        return "Model" + index;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(UTF_8));
+    }
+
+    static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The language enabled in a subproject of the synthetic build.
+     */
+    enum Language {
+
+        java("enableJava()"),
+        js("enableJavaScript()"),
+        dart("enableDart()"),
+        model("assembleModel()");
+
+        /**
+         * The call of the {@code spine} extension which enables the language.
+         */
+        private final String call;
+
+        Language(String call) {
+            this.call = call;
+        }
+
+        /**
+         * Parses the language mix in the {@code java=7,js=2,model=1} format.
+         *
+         * <p>The numbers are the relative weights of the languages.
+         */
+        static ImmutableMap<Language, Integer> parseMix(String mix) {
+            checkNotNull(mix);
+            Map<Language, Integer> result = new LinkedHashMap<>();
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim()
+                                      .split("=");
+                checkArgument(parts.length == 2, "Malformed language weight `%s`.", entry);
+                int weight = Integer.parseInt(parts[1].trim());
+                checkArgument(weight >= 0, "Negative weight of `%s`.", parts[0]);
+                result.put(valueOf(parts[0].trim()), weight);
+            }
+            return ImmutableMap.copyOf(result);
+        }
+
+        /**
+         * Expands the mix into the sequence of languages repeated over the subprojects.
+         */
+        private static List<Language> cycle(ImmutableMap<Language, Integer> mix) {
+            List<Language> result = new ArrayList<>();
+            mix.forEach((language, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    result.add(language);
+                }
+            });
+            return result;
+        }
+    }
+
+    /**
+     * A builder for the {@code SyntheticBuild} instances.
+     */
+    static final class Builder {
+
+        private int projects = 100;
+        private int protos = 20;
+        private int imports = 2;
+        private Map<Language, Integer> languages =
+                ImmutableMap.of(Language.java, 7, Language.js, 2, Language.model, 1);
+        private String pluginVersion;
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        Builder setProjects(int projects) {
+            checkArgument(projects > 0, "The build must contain at least one project.");
+            this.projects = projects;
+            return this;
+        }
+
+        Builder setProtos(int protos) {
+            checkArgument(protos > 0, "A project must contain at least one proto file.");
+            this.protos = protos;
+            return this;
+        }
+
+        Builder setImports(int imports) {
+            checkArgument(imports >= 0, "The number of imports cannot be negative.");
+            this.imports = imports;
+            return this;
+        }
+
+        Builder setLanguages(Map<Language, Integer> languages) {
+            checkNotNull(languages);
+            checkArgument(languages.values()
+                                   .stream()
+                                   .anyMatch(weight -> weight > 0),
+                          "At least one language must be enabled.");
+            this.languages = languages;
+            return this;
+        }
+
+        Builder setPluginVersion(String pluginVersion) {
+            this.pluginVersion = checkNotNull(pluginVersion);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code SyntheticBuild}.
+         */
+        SyntheticBuild build() {
+            checkNotNull(pluginVersion);
+            return new SyntheticBuild(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ProfilerBaseline` should")
+class ProfilerBaselineTest {
+
+    private static final String BUILD = "projects-10";
+
+    @Test
+    @DisplayName("compute the medians of the measured builds")
+    void medians() {
+        List<String> benchmark = ImmutableList.of(
+                "scenario,warmConfiguration,upToDate",
+                "version,Gradle 6.8.3,Gradle 6.8.3",
+                "tasks,help,assemble",
+                "value,total execution time,total execution time",
+                "warm-up build #1,9000,9000",
+                "measured build #1,300,1200",
+                "measured build #2,100,1000",
+                "measured build #3,200,1100"
+        );
+        assertThat(ProfilerBaseline.medians(benchmark))
+                .containsExactly("warmConfiguration", 200L, "upToDate", 1100L);
+    }
+
+    @Test
+    @DisplayName("report the scenarios slower than the baseline")
+    void regressions() {
+        List<String> baseline = ImmutableList.of(
+                "# A comment.",
+                "build,scenario,median_ms",
+                "projects-10,warmConfiguration,200",
+                "projects-10,upToDate,1000",
+                "projects-100,upToDate,100"
+        );
+        ImmutableList<String> regressions = ProfilerBaseline.check(
+                baseline, BUILD,
+                ImmutableMap.of("warmConfiguration", 215L, "upToDate", 1200L, "newScenario", 5L),
+                10.0
+        );
+        assertThat(regressions).hasSize(1);
+        assertThat(regressions.get(0)).startsWith("projects-10/upToDate");
+    }
+
+    @Test
+    @DisplayName("not gate the builds without a recorded baseline")
+    void nonGating() {
+        List<String> baseline = ImmutableList.of(
+                "# A comment.",
+                "build,scenario,median_ms",
+                "projects-100,upToDate,100"
+        );
+        assertThat(ProfilerBaseline.isGating(baseline, BUILD)).isFalse();
+        assertThat(ProfilerBaseline.check(baseline, BUILD,
+                                          ImmutableMap.of("upToDate", 1_000_000L), 10.0))
+                .isEmpty();
+        List<String> recorded =
+                ProfilerBaseline.record(baseline, BUILD, ImmutableMap.of("upToDate", 900L));
+        assertThat(ProfilerBaseline.isGating(recorded, BUILD)).isTrue();
+    }
+
+    @Test
+    @DisplayName("replace the baseline of a build")
+    void record() {
+        List<String> baseline = ImmutableList.of(
+                "# A comment.",
+                "build,scenario,median_ms",
+                "projects-10,upToDate,1000",
+                "projects-100,upToDate,100"
+        );
+        assertThat(ProfilerBaseline.record(baseline, BUILD, ImmutableMap.of("upToDate", 900L)))
+                .containsExactly("# A comment.",
+                                 "build,scenario,median_ms",
+                                 "projects-100,upToDate,100",
+                                 "projects-10,upToDate,900")
+                .inOrder();
+    }
+}
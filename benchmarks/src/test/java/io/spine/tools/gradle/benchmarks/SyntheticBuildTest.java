@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.benchmarks;
+
+import io.spine.tools.gradle.benchmarks.SyntheticBuild.Language;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`SyntheticBuild` should")
+class SyntheticBuildTest {
+
+    @Test
+    @DisplayName("generate the projects with the requested languages and imports")
+    void generate(@TempDir Path dir) throws IOException {
+        SyntheticBuild.newBuilder()
+                      .setPluginVersion("1.0.0")
+                      .setProjects(4)
+                      .setProtos(3)
+                      .setImports(2)
+                      .setLanguages(Language.parseMix("java=1,dart=1"))
+                      .build()
+                      .writeTo(dir);
+
+        assertThat(read(dir.resolve("settings.gradle"))).contains("include 'p003'");
+        assertThat(read(dir.resolve("p000/build.gradle"))).contains("enableJava()");
+        assertThat(read(dir.resolve("p001/build.gradle"))).contains("enableDart()");
+
+        String script = read(dir.resolve("p003/build.gradle"));
+        assertThat(script).contains("implementation project(");
+        Path protos = dir.resolve("p003/src/main/proto/synthetic/p003");
+        assertThat(protos.toFile()
+                         .list()).hasLength(3);
+        assertThat(read(protos.resolve("model_0.proto"))).contains("import \"synthetic/p0");
+        assertThat(read(protos.resolve("model_2.proto")))
+                .contains("import \"synthetic/p003/model_1.proto\";");
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), UTF_8);
+    }
+}
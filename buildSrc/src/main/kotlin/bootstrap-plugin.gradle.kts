@@ -37,5 +37,11 @@ gradlePlugin {
             displayName = "Spine Bootstrap"
             description = "Prepares a Gradle project for development on Spine."
         }
+        create("spineBootstrapSettingsPlugin") {
+            id = "io.spine.tools.gradle.bootstrap.settings"
+            implementationClass = "io.spine.tools.gradle.bootstrap.BootstrapSettingsPlugin"
+            displayName = "Spine Bootstrap Settings"
+            description = "Configures the repositories required by Spine once for the whole build."
+        }
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.gradle.internal
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import java.util.zip.ZipFile
+
+/**
+ * A task which reports the size of a JAR and the number of classes in it.
+ *
+ * The classes are grouped by the first three segments of their packages, e.g. `io.spine.tools`,
+ * from the largest group to the smallest one. The summary is also logged on the `lifecycle`
+ * level, so that the growth of the JAR is visible in each build.
+ */
+abstract class JarReport : DefaultTask() {
+
+    companion object {
+        private const val CLASS_EXTENSION = ".class"
+        private const val PACKAGE_DEPTH = 3
+    }
+
+    /**
+     * The JAR to report on.
+     */
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.NONE)
+    abstract val jar: RegularFileProperty
+
+    /**
+     * The file to write the report to.
+     */
+    @get:OutputFile
+    abstract val report: RegularFileProperty
+
+    @TaskAction
+    private fun writeReport() {
+        val jarFile = jar.get().asFile
+        val groups = mutableMapOf<String, Group>()
+        ZipFile(jarFile).use { zip ->
+            zip.entries()
+                .asSequence()
+                .filter { it.name.endsWith(CLASS_EXTENSION) }
+                .forEach {
+                    val group = groups.getOrPut(packageOf(it.name)) { Group() }
+                    group.classes++
+                    group.bytes += it.compressedSize
+                }
+        }
+        val classes = groups.values.sumBy { it.classes }
+        val summary = "`${jarFile.name}`: ${jarFile.length()} bytes, $classes classes."
+        val lines = mutableListOf(summary, "", "Classes\tCompressed bytes\tPackage")
+        groups.entries
+            .sortedByDescending { it.value.bytes }
+            .forEach { (name, group) -> lines.add("${group.classes}\t${group.bytes}\t$name") }
+        report.get().asFile.writeText(lines.joinToString(separator = System.lineSeparator()))
+        logger.lifecycle(summary)
+    }
+
+    private fun packageOf(entry: String): String {
+        val segments = entry.split('/').dropLast(1)
+        return segments.take(PACKAGE_DEPTH).joinToString(separator = ".").ifEmpty { "<default>" }
+    }
+
+    private class Group {
+        var classes = 0
+        var bytes = 0L
+    }
+}
@@ -43,21 +43,6 @@ sourceSets.main {
 
 val taskGroup = "Spine bootstrapping"
 
-val copyModelCompilerConfig by tasks.registering(Copy::class) {
-    group = taskGroup
-
-    from(file("$configDir/gradle/model-compiler.gradle"))
-    into(file(bootstrapDir))
-
-    doFirst {
-        bootstrapDir.mkdirs()
-    }
-}
-
-tasks.processResources {
-    dependsOn(copyModelCompilerConfig)
-}
-
 val spineBaseVersion: String by extra
 val spineTimeVersion: String by extra
 val spineVersion: String by extra
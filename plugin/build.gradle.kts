@@ -26,6 +26,7 @@
 
 import io.spine.gradle.internal.Deps
 import io.spine.gradle.internal.IncrementGuard
+import io.spine.gradle.internal.JarReport
 import org.apache.tools.ant.filters.ReplaceTokens
 
 plugins {
@@ -43,12 +44,18 @@ val pluginVersion: String by extra
 
 dependencies {
     implementation(gradleApi())
-    implementation(Deps.build.gradlePlugins.protobuf)
-    implementation("io.spine:spine-base:$spineBaseVersion")
-    implementation("io.spine.tools:spine-plugin-base:$spineBaseVersion")
-    implementation("io.spine.tools:spine-model-compiler:$spineBaseVersion")
-    implementation("io.spine.tools:spine-proto-js-plugin:$spineBaseVersion")
-    implementation("io.spine.tools:spine-proto-dart-plugin:$spineBaseVersion")
+
+    /*
+     * The `api` dependencies are the roots of the plugin JAR minimization, along with the plugin
+     * classes. See `shadowJar` below.
+     */
+    api(Deps.build.gradlePlugins.protobuf)
+    Deps.build.protobuf.forEach { api(it) }
+    api("io.spine:spine-base:$spineBaseVersion")
+    api("io.spine.tools:spine-plugin-base:$spineBaseVersion")
+    api("io.spine.tools:spine-model-compiler:$spineBaseVersion")
+    api("io.spine.tools:spine-proto-js-plugin:$spineBaseVersion")
+    api("io.spine.tools:spine-proto-dart-plugin:$spineBaseVersion")
 
     testImplementation("io.spine:spine-testlib:$spineBaseVersion")
     testImplementation("io.spine.tools:spine-plugin-testlib:$spineBaseVersion")
@@ -94,6 +101,9 @@ pluginBundle {
         named("spineBootstrapPlugin") {
             version = pluginVersion
         }
+        named("spineBootstrapSettingsPlugin") {
+            version = pluginVersion
+        }
     }
 }
 
@@ -112,8 +122,37 @@ tasks.jar {
     dependsOn(tasks.shadowJar)
 }
 
+val reportPluginJar by tasks.registering(JarReport::class) {
+    description = "Reports the size of the plugin JAR and the number of classes in it."
+    jar.set(tasks.shadowJar.flatMap { it.archiveFile })
+    report.set(layout.buildDirectory.file("reports/jar/plugin-jar.txt"))
+}
+
 tasks.shadowJar {
     archiveClassifier.set("")
+    finalizedBy(reportPluginJar)
+
+    /*
+     * Removes the classes of the third-party libraries which are not reachable from the plugin
+     * classes or from the `api` dependencies, to make the JAR faster to load into the build
+     * script class path.
+     *
+     * The libraries which load classes by name are kept whole:
+     *  - the Spine artifacts load the known Protobuf types and their Gradle plugins by name;
+     *  - Protobuf resolves the generated messages and their methods reflectively;
+     *  - Flogger finds its backend by name;
+     *  - Roaster finds its parser through `ServiceLoader`.
+     *
+     * Only the `api` dependencies are analyzed for the classes they use. Thus, the Protobuf
+     * artifacts, which use Guava and Gson, are declared as `api` too.
+     */
+    minimize {
+        exclude(dependency("io.spine:.*:.*"))
+        exclude(dependency("io.spine.tools:.*:.*"))
+        exclude(dependency("com.google.protobuf:.*:.*"))
+        exclude(dependency("com.google.flogger:.*:.*"))
+        exclude(dependency("org.jboss.forge.roaster:.*:.*"))
+    }
 }
 
 artifacts {
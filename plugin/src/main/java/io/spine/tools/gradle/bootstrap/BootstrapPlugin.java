@@ -26,14 +26,33 @@
 
 package io.spine.tools.gradle.bootstrap;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import io.spine.tools.gradle.SpinePlugin;
 import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.config.BuildProperties;
 import io.spine.tools.gradle.project.PlugableProject;
 import io.spine.tools.gradle.project.PluginTarget;
 import io.spine.tools.gradle.project.ProjectSourceSuperset;
 import io.spine.tools.gradle.project.SourceSuperset;
 import io.spine.tools.gradle.protoc.ProtobufGenerator;
+import org.gradle.api.NamedDomainObjectSet;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.tasks.TaskProvider;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Spine Bootstrap plugin entrance point.
@@ -69,18 +88,45 @@ import org.gradle.api.Project;
  */
 public final class BootstrapPlugin extends SpinePlugin {
 
+    private static final String MIRROR_DIR = "spine-mirror";
+    private static final String PREFETCH_MANIFEST = "spine/prefetched-artifacts.txt";
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the {@linkplain ConfigurationTimings timings} are enabled, measures the time of
+     * the plugin application and its slowest steps.
+     */
     @Override
     public void apply(Project project) {
-        ArtifactSnapshot artifacts = ArtifactSnapshot.fromResources();
-        applyExtension(project, artifacts);
-        configureProtocArtifact(project, artifacts);
+        apply(project, ArtifactSnapshot.fromResources());
+    }
+
+    /**
+     * Applies the plugin to the given project, using the given snapshot of the Spine-related
+     * artifacts.
+     */
+    @VisibleForTesting
+    static void apply(Project project, ArtifactSnapshot artifacts) {
+        ProjectTimings timings = ConfigurationTimings.of(project);
+        timings.measure("apply", () -> {
+            timings.measure("applyExtension",
+                            () -> applyExtension(project, artifacts, timings));
+            timings.measure("configureProtocArtifact",
+                            () -> configureProtocArtifact(project, artifacts));
+            registerMirrorTask(project, artifacts);
+            registerPrefetchTask(project);
+            registerCodegenMetrics(project);
+        });
     }
 
-    private static void applyExtension(Project project, ArtifactSnapshot artifacts) {
+    private static void applyExtension(Project project,
+                                       ArtifactSnapshot artifacts,
+                                       ProjectTimings timings) {
         PluginTarget plugableProject = new PlugableProject(project);
         SourceSuperset layout = ProjectSourceSuperset.of(project);
         SpineBasedProject dependant = SpineBasedProject.from(project);
-        dependant.prepareRepositories(artifacts);
+        timings.measure("prepareRepositories", () -> dependant.prepareRepositories(artifacts));
         Extension extension = Extension
                 .newBuilder()
                 .setProject(project)
@@ -95,7 +141,168 @@ public final class BootstrapPlugin extends SpinePlugin {
     }
 
     private static void configureProtocArtifact(Project project, ArtifactSnapshot artifacts) {
-        ProtobufGenerator generator = new ProtobufGenerator(project);
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
         generator.useCompiler(artifacts.protoc());
     }
+
+    /**
+     * Registers the task which populates a local mirror of the Spine repositories.
+     *
+     * <p>The mirror is shared by all the projects of the build. The task is registered in
+     * the root project by the first project the plugin is applied to, and populates
+     * the {@code build/spine-mirror} directory of the root project. The artifacts are resolved
+     * from the repositories of that first project.
+     *
+     * <p>Along with the artifacts which the plugin may add, the mirror contains the executables
+     * of the {@code protoc} plugins configured in any of the projects, such as the gRPC
+     * code generator.
+     */
+    private static void registerMirrorTask(Project project, ArtifactSnapshot artifacts) {
+        Project root = project.getRootProject();
+        TaskContainer rootTasks = root.getTasks();
+        if (rootTasks.getNames()
+                     .contains(PopulateMirrorTask.NAME)) {
+            return;
+        }
+        rootTasks.register(PopulateMirrorTask.NAME, PopulateMirrorTask.class, task -> {
+            task.setDescription("Copies the artifacts which may be required by Spine " +
+                                        "into a local Maven repository.");
+            Provider<List<String>> notations =
+                    project.provider(() -> mirroredArtifacts(root, artifacts));
+            Provider<Map<String, File>> files = notations.map(
+                    list -> MirrorContents.of(project, list)
+                                          .resolve()
+            );
+            task.getArtifacts()
+                .set(notations);
+            task.getContents()
+                .set(files);
+            task.getFiles()
+                .from(files.map(Map::values));
+            task.getMirrorDir()
+                .set(root.getLayout()
+                         .getBuildDirectory()
+                         .dir(MIRROR_DIR));
+        });
+    }
+
+    /**
+     * Obtains the notations of the artifacts to mirror, including the executables of
+     * the {@code protoc} plugins of all the projects the plugin is applied to.
+     */
+    private static List<String> mirroredArtifacts(Project root, ArtifactSnapshot artifacts) {
+        Set<String> notations = new LinkedHashSet<>(MirroredArtifacts.of(artifacts));
+        for (Project project : root.getAllprojects()) {
+            ProtobufGenerator generator = project.getExtensions()
+                                                 .findByType(ProtobufGenerator.class);
+            if (generator != null) {
+                for (String plugin : generator.pluginArtifacts()) {
+                    notations.addAll(MirroredArtifacts.executables(plugin));
+                }
+            }
+        }
+        return ImmutableList.copyOf(notations);
+    }
+
+    /**
+     * Registers the task which resolves all the artifacts the plugin may add to the project.
+     *
+     * <p>The Protobuf plugin creates the configurations for the {@code protoc} tools after
+     * the project is evaluated. The set of the prefetched configurations is live and is
+     * queried only when the inputs of the task are resolved, so those configurations are also
+     * resolved by the task.
+     */
+    private static void registerPrefetchTask(Project project) {
+        project.getTasks()
+               .register(PrefetchTask.NAME, PrefetchTask.class, task -> {
+                   task.setDescription("Resolves all the artifacts required by Spine.");
+                   NamedDomainObjectSet<Configuration> configurations =
+                           project.getConfigurations()
+                                  .matching(new PrefetchTask.PrefetchedConfigurations());
+                   task.getArtifacts()
+                       .from(project.provider(() -> configurations
+                               .stream()
+                               .map(PrefetchTask::externalArtifacts)
+                               .collect(toList())));
+                   task.getManifest()
+                       .set(project.getLayout()
+                                   .getBuildDirectory()
+                                   .file(PREFETCH_MANIFEST));
+               });
+    }
+
+    /**
+     * Registers the tasks which report on the code generated in the project.
+     *
+     * <p>The {@linkplain CodegenMetricsTask report} of the project runs after the code generation
+     * tasks. If the {@value CodegenMetricsTask#PROPERTY} Gradle property is set to {@code true},
+     * the report finalizes the code generation tasks, and the time of the tasks is measured.
+     * Otherwise, the report is written only if requested explicitly, and the time of the tasks
+     * is not included.
+     *
+     * <p>The aggregated report merges the reports of the project and all its subprojects
+     * which apply the plugin.
+     */
+    private static void registerCodegenMetrics(Project project) {
+        TaskContainer tasks = project.getTasks();
+        Provider<CodegenTimings> timings = CodegenTimings.of(project);
+        boolean enabled = BuildProperties.of(project)
+                                         .isEnabled(CodegenMetricsTask.PROPERTY);
+        boolean measured = enabled && CodegenTimings.listen(project, timings);
+        TaskProvider<CodegenMetricsTask> metrics =
+                tasks.register(CodegenMetricsTask.NAME, CodegenMetricsTask.class, task -> {
+                    task.setDescription("Reports on the code generated in the project.");
+                    task.usesService(timings);
+                    task.getTimings()
+                        .set(timings);
+                    task.getProjectPath()
+                        .set(project.getPath());
+                    task.getReport()
+                        .set(project.getLayout()
+                                    .getBuildDirectory()
+                                    .file(CodegenReport.PROJECT_REPORT));
+                    for (String name : CodegenMetricsTask.codegenTasks()) {
+                        task.include(name, project.provider(() -> tasks.findByName(name)));
+                    }
+                    task.mustRunAfter((Callable<List<Task>>) () -> codegenTasks(tasks));
+                });
+        if (enabled) {
+            tasks.configureEach(task -> {
+                if (CodegenMetricsTask.isCodegenTask(task.getName())) {
+                    if (measured) {
+                        CodegenTimings.measure(task, timings);
+                    }
+                    task.finalizedBy(metrics);
+                }
+            });
+        }
+        tasks.register(AggregateCodegenMetricsTask.NAME, AggregateCodegenMetricsTask.class,
+                       task -> {
+                           task.setDescription("Merges the code generation reports of " +
+                                                       "the project and its subprojects.");
+                           task.getReports()
+                               .from((Callable<List<Task>>) () -> metricsTasks(project));
+                           task.getReport()
+                               .set(project.getLayout()
+                                           .getBuildDirectory()
+                                           .file(CodegenReport.AGGREGATED_REPORT));
+                       });
+    }
+
+    private static List<Task> codegenTasks(TaskContainer tasks) {
+        return CodegenMetricsTask.codegenTasks()
+                                 .stream()
+                                 .map(tasks::findByName)
+                                 .filter(Objects::nonNull)
+                                 .collect(toList());
+    }
+
+    private static List<Task> metricsTasks(Project project) {
+        return project.getAllprojects()
+                      .stream()
+                      .map(p -> p.getTasks()
+                                 .findByName(CodegenMetricsTask.NAME))
+                      .filter(Objects::nonNull)
+                      .collect(toList());
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.config.BuildProperties;
+import org.gradle.api.Plugin;
+import org.gradle.api.initialization.Settings;
+import org.gradle.api.initialization.resolve.DependencyResolutionManagement;
+import org.gradle.api.initialization.resolve.RepositoriesMode;
+import org.gradle.api.invocation.Gradle;
+
+/**
+ * A companion of the {@link BootstrapPlugin} applied to the settings of a build.
+ *
+ * <p>Registers the Maven repositories required by Spine once for the whole build, under
+ * the {@code dependencyResolutionManagement} block, and makes them take precedence over
+ * the repositories declared in projects.
+ *
+ * <p>When this plugin is applied, the {@link BootstrapPlugin} does not add the repositories
+ * to each project.
+ *
+ * <p>A typical usage is as follows:
+ * <pre>
+ *     {@code
+ *     // -- settings.gradle --
+ *
+ *     plugins {
+ *         id 'io.spine.tools.gradle.bootstrap.settings'
+ *     }
+ *     }
+ * </pre>
+ */
+public final class BootstrapSettingsPlugin implements Plugin<Settings> {
+
+    @Override
+    public void apply(Settings settings) {
+        ArtifactSnapshot artifacts = ArtifactSnapshot.fromResources();
+        DependencyResolutionManagement resolution = settings.getDependencyResolutionManagement();
+        resolution.getRepositoriesMode()
+                  .set(RepositoriesMode.PREFER_SETTINGS);
+        SpineRepositories.addTo(resolution.getRepositories(),
+                                artifacts,
+                                BuildProperties.of(settings),
+                                settings.getRootDir());
+        settings.getGradle()
+                .getPluginManager()
+                .apply(Applied.class);
+    }
+
+    /**
+     * Checks if the settings plugin is applied to the build of the given {@code Gradle}
+     * instance.
+     */
+    static boolean isAppliedTo(Gradle gradle) {
+        return gradle.getPlugins()
+                     .hasPlugin(Applied.class);
+    }
+
+    /**
+     * A marker plugin applied to the {@link Gradle} instance of a build with
+     * the {@code BootstrapSettingsPlugin}.
+     *
+     * <p>The plugin does not configure anything and is public only to be instantiable by Gradle.
+     */
+    public static final class Applied implements Plugin<Gradle> {
+
+        @Override
+        public void apply(Gradle gradle) {
+            // Only marks the build.
+        }
+    }
+}
@@ -90,6 +90,18 @@ abstract class CodeGenExtension implements Logging {
         }
     }
 
+    /**
+     * Enables the associated language in a project which has no Protobuf definitions.
+     *
+     * <p>Only applies the {@code java} plugin, so that the dependencies declared through
+     * the extension may still be added to the project. The code generation is not configured.
+     *
+     * @see ProtoSources
+     */
+    void enableWithoutCodegen() {
+        pluginTarget.applyJavaPlugin();
+    }
+
     /**
      * Disables code generation in the associated language.
      */
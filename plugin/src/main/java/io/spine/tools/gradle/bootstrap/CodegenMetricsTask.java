@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.tools.gradle.ModelCompilerTaskName.generateRejections;
+import static io.spine.tools.gradle.ModelCompilerTaskName.generateTestRejections;
+import static io.spine.tools.gradle.bootstrap.DartTaskName.generateDart;
+import static io.spine.tools.gradle.bootstrap.DartTaskName.generateTestDart;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A task which writes the {@linkplain CodegenReport report} on the code generated in a project.
+ *
+ * <p>The task runs after the code generation tasks of the project. The files are counted even
+ * if the code generation tasks are up-to-date or loaded from the build cache.
+ *
+ * <p>By default, the report is written only if the task is requested explicitly. If
+ * the {@value #PROPERTY} Gradle property is set to {@code true}, the task finalizes the code
+ * generation tasks, so that the report is written whenever any of them is a part of the build.
+ * In this case, the report also includes the time of the tasks executed during the build.
+ */
+public abstract class CodegenMetricsTask extends DefaultTask {
+
+    /**
+     * The name of the task.
+     */
+    static final String NAME = "spineCodegenMetrics";
+
+    /**
+     * The name of the Gradle property which makes the report finalize the code generation tasks
+     * and measure their time.
+     */
+    public static final String PROPERTY = "spine.codegen.metrics";
+
+    private static final String MAIN = "main";
+    private static final String TEST = "test";
+
+    /**
+     * The source sets of the code generation tasks by the task names.
+     */
+    private static final ImmutableMap<String, String> SOURCE_SETS =
+            ImmutableMap.<String, String>builder()
+                    .put("generateProto", MAIN)
+                    .put("generateTestProto", TEST)
+                    .put(generateDart.name(), MAIN)
+                    .put(generateTestDart.name(), TEST)
+                    .put(generateRejections.name(), MAIN)
+                    .put(generateTestRejections.name(), TEST)
+                    .build();
+
+    private final Map<String, SourceSetFiles> sourceSets = new TreeMap<>();
+
+    public CodegenMetricsTask() {
+        super();
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    /**
+     * Tells if the task with the given name is a code generation task covered by the report.
+     */
+    static boolean isCodegenTask(String taskName) {
+        return SOURCE_SETS.containsKey(taskName);
+    }
+
+    /**
+     * Obtains the names of the code generation tasks covered by the report.
+     */
+    static ImmutableSet<String> codegenTasks() {
+        return SOURCE_SETS.keySet();
+    }
+
+    /**
+     * The service measuring the time of the code generation tasks.
+     */
+    @Internal
+    public abstract Property<CodegenTimings> getTimings();
+
+    /**
+     * The path of the project.
+     */
+    @Internal
+    public abstract Property<String> getProjectPath();
+
+    /**
+     * The report file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReport();
+
+    /**
+     * The factory of the file collections of the task.
+     */
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    /**
+     * Includes the given code generation task into the report.
+     *
+     * <p>The task may be absent, e.g. if the respective plugin is not applied to the project.
+     *
+     * @param taskName
+     *         the name of one of the {@linkplain #codegenTasks() code generation tasks}
+     * @param task
+     *         the task with the given name
+     */
+    void include(String taskName, Provider<? extends Task> task) {
+        checkNotNull(task);
+        String sourceSet = SOURCE_SETS.get(taskName);
+        checkNotNull(sourceSet, "`%s` is not a code generation task.", taskName);
+        SourceSetFiles files = sourceSets.computeIfAbsent(
+                sourceSet, name -> new SourceSetFiles(getObjects())
+        );
+        files.tasks.add(taskName);
+        files.generated.from(task.map(CodegenMetricsTask::outputs)
+                                 .orElse(ImmutableList.of()));
+        files.protoFiles.from(task.map(CodegenMetricsTask::protoFiles)
+                                  .orElse(ImmutableList.of()));
+        files.descriptorSets.from(task.map(CodegenMetricsTask::descriptorSet)
+                                      .orElse(ImmutableList.of()));
+    }
+
+    private static Object outputs(Task task) {
+        return task.getOutputs()
+                   .getFiles();
+    }
+
+    private static Object protoFiles(Task task) {
+        return task instanceof GenerateProtoTask
+               ? ((GenerateProtoTask) task).getSourceFiles()
+               : ImmutableList.of();
+    }
+
+    private static Object descriptorSet(Task task) {
+        if (task instanceof GenerateProtoTask) {
+            GenerateProtoTask protoTask = (GenerateProtoTask) task;
+            if (protoTask.getGenerateDescriptorSet()) {
+                return protoTask.getDescriptorPath();
+            }
+        }
+        return ImmutableList.of();
+    }
+
+    @TaskAction
+    void writeReport() {
+        CodegenTimings timings = getTimings().get();
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        Set<String> taskPaths = new TreeSet<>();
+        sourceSets.values()
+                  .forEach(files -> files.tasks.forEach(
+                          taskName -> taskPaths.add(taskPath(taskName))
+                  ));
+        Map<String, Long> millisByPath = timings.millisOf(taskPaths);
+        sourceSets.forEach((name, files) -> {
+            Map<String, Long> millis = new LinkedHashMap<>();
+            for (String taskName : files.tasks) {
+                Long value = millisByPath.get(taskPath(taskName));
+                if (value != null) {
+                    millis.put(taskName, value);
+                }
+            }
+            metrics.put(name, CodegenReport.sourceSet(existing(files.protoFiles),
+                                                      existing(files.generated.getAsFileTree()),
+                                                      existing(files.descriptorSets),
+                                                      millis));
+        });
+        String report = CodegenReport.project(getProjectPath().get(), metrics);
+        File file = getReport().getAsFile()
+                               .get();
+        try {
+            Files.write(file.toPath(), report.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write `%s`.", file), e);
+        }
+    }
+
+    private String taskPath(String taskName) {
+        String projectPath = getProjectPath().get();
+        return projectPath.endsWith(":")
+               ? projectPath + taskName
+               : projectPath + ':' + taskName;
+    }
+
+    private static ImmutableSet<File> existing(FileCollection files) {
+        return files.getFiles()
+                    .stream()
+                    .filter(File::isFile)
+                    .collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * The files related to the code generation in a source set.
+     */
+    private static final class SourceSetFiles {
+
+        private final ConfigurableFileCollection protoFiles;
+        private final ConfigurableFileCollection generated;
+        private final ConfigurableFileCollection descriptorSets;
+
+        /**
+         * The names of the code generation tasks.
+         */
+        private final Set<String> tasks = new TreeSet<>();
+
+        private SourceSetFiles(ObjectFactory objects) {
+            this.protoFiles = objects.fileCollection();
+            this.generated = objects.fileCollection();
+            this.descriptorSets = objects.fileCollection();
+        }
+    }
+}
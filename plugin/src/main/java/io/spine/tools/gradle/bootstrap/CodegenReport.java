@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import groovy.json.JsonOutput;
+import groovy.json.JsonSlurper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The JSON report on the code generated in a project.
+ *
+ * <p>A report of a project looks as follows:
+ * <pre>
+ *     {@code
+ *     {
+ *         "project": ":model",
+ *         "sourceSets": {
+ *             "main": {
+ *                 "protoFiles": 12,
+ *                 "generated": {
+ *                     "java": { "files": 140, "bytes": 2048000 },
+ *                     "js": { "files": 0, "bytes": 0 },
+ *                     "dart": { "files": 0, "bytes": 0 }
+ *                 },
+ *                 "descriptorSetBytes": 40960,
+ *                 "tasks": { "generateProto": 5230, "generateRejections": 870 }
+ *             }
+ *         }
+ *     }
+ *     }
+ * </pre>
+ *
+ * <p>The {@code tasks} section lists the wall-clock time of the code generation tasks executed
+ * during the build which produced the report, in milliseconds.
+ *
+ * <p>An aggregated report lists the reports of all the projects under {@code projects}, and
+ * the sums of their metrics under {@code total}.
+ */
+final class CodegenReport {
+
+    /**
+     * The path of the report of a project, relative to the build directory of the project.
+     */
+    static final String PROJECT_REPORT = "reports/spine/codegen-metrics.json";
+
+    /**
+     * The path of the aggregated report, relative to the build directory of the project.
+     */
+    static final String AGGREGATED_REPORT = "reports/spine/codegen-metrics-aggregated.json";
+
+    private static final ImmutableList<String> LANGUAGES = ImmutableList.of("java", "js", "dart");
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private CodegenReport() {
+    }
+
+    /**
+     * Composes the metrics of a source set.
+     *
+     * @param protoFiles
+     *         the Protobuf definitions of the source set
+     * @param generated
+     *         the files generated from the definitions
+     * @param descriptorSets
+     *         the descriptor set files generated from the definitions
+     * @param taskMillis
+     *         the time of the code generation tasks of the source set by the task names
+     */
+    static Map<String, Object> sourceSet(ImmutableSet<File> protoFiles,
+                                         ImmutableSet<File> generated,
+                                         ImmutableSet<File> descriptorSets,
+                                         Map<String, Long> taskMillis) {
+        checkNotNull(protoFiles);
+        checkNotNull(generated);
+        checkNotNull(descriptorSets);
+        checkNotNull(taskMillis);
+        Map<String, Object> languages = new LinkedHashMap<>();
+        for (String language : LANGUAGES) {
+            List<File> files = new ArrayList<>();
+            for (File file : generated) {
+                if (language.equals(Files.getFileExtension(file.getName()))) {
+                    files.add(file);
+                }
+            }
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("files", files.size());
+            metrics.put("bytes", bytes(files));
+            languages.put(language, metrics);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("protoFiles", protoFiles.size());
+        result.put("generated", languages);
+        result.put("descriptorSetBytes", bytes(descriptorSets));
+        result.put("tasks", new TreeMap<>(taskMillis));
+        return result;
+    }
+
+    /**
+     * Composes the report of a project.
+     *
+     * @param projectPath
+     *         the path of the project
+     * @param sourceSets
+     *         the {@linkplain #sourceSet metrics} of the source sets by their names
+     * @return the report in JSON
+     */
+    static String project(String projectPath, Map<String, Map<String, Object>> sourceSets) {
+        checkNotNull(projectPath);
+        checkNotNull(sourceSets);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("project", projectPath);
+        report.put("sourceSets", new TreeMap<>(sourceSets));
+        return JsonOutput.prettyPrint(JsonOutput.toJson(report));
+    }
+
+    /**
+     * Merges the reports of several projects.
+     *
+     * @param reports
+     *         the report files of the projects
+     * @return the aggregated report in JSON
+     */
+    @SuppressWarnings("unchecked") // The structure of the reports is known.
+    static String aggregate(Iterable<File> reports) {
+        checkNotNull(reports);
+        JsonSlurper json = new JsonSlurper();
+        List<Map<String, Object>> projects = new ArrayList<>();
+        for (File file : reports) {
+            projects.add((Map<String, Object>) json.parse(file));
+        }
+        projects.sort(Comparator.comparing(project -> (String) project.get("project")));
+        Map<String, Object> total = new TreeMap<>();
+        for (Map<String, Object> project : projects) {
+            Map<String, Object> sourceSets = (Map<String, Object>) project.get("sourceSets");
+            for (Object sourceSet : sourceSets.values()) {
+                add((Map<String, Object>) sourceSet, total);
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("projects", projects);
+        report.put("total", total);
+        return JsonOutput.prettyPrint(JsonOutput.toJson(report));
+    }
+
+    /**
+     * Adds the numeric values of the given metrics to the sums under the same keys.
+     */
+    @SuppressWarnings("unchecked") // The nested metrics are either numbers or maps.
+    private static void add(Map<String, Object> metrics, Map<String, Object> sums) {
+        metrics.forEach((key, value) -> {
+            if (value instanceof Number) {
+                long sum = ((Number) sums.getOrDefault(key, 0L)).longValue();
+                sums.put(key, sum + ((Number) value).longValue());
+            } else if (value instanceof Map) {
+                Map<String, Object> nested =
+                        (Map<String, Object>) sums.computeIfAbsent(key, k -> new TreeMap<>());
+                add((Map<String, Object>) value, nested);
+            }
+        });
+    }
+
+    private static long bytes(Iterable<File> files) {
+        long result = 0;
+        for (File file : files) {
+            result += file.length();
+        }
+        return result;
+    }
+}
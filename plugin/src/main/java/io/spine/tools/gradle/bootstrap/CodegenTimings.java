@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationResult;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+
+import javax.inject.Inject;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A build service which measures the wall-clock time of the code generation tasks.
+ *
+ * <p>The service listens to the completion of the tasks in the build. The time of a task is
+ * the time between its start and its finish, as reported by Gradle, and thus includes all
+ * the actions of the task. The tasks which are up-to-date, loaded from the build cache, or
+ * skipped, have no time recorded.
+ *
+ * <p>Gradle delivers the completion events asynchronously. The tasks which are measured mark
+ * their start with the service, so that the time of a started task is awaited until its
+ * completion event arrives.
+ *
+ * <p>The class is public and abstract, so that Gradle is able to instantiate it.
+ */
+public abstract class CodegenTimings
+        implements BuildService<BuildServiceParameters.None>, OperationCompletionListener {
+
+    private static final String NAME = "spineCodegenTimings";
+
+    /**
+     * The maximum time to wait for the completion events of the tasks of a report,
+     * in milliseconds.
+     */
+    private static final long AWAIT_MILLIS = 5_000L;
+
+    private final Set<String> started = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> millis = new HashMap<>();
+
+    /**
+     * Obtains the service registered in the build of the given project, registering it
+     * if necessary.
+     */
+    static Provider<CodegenTimings> of(Project project) {
+        checkNotNull(project);
+        return project.getGradle()
+                      .getSharedServices()
+                      .registerIfAbsent(NAME, CodegenTimings.class, spec -> {});
+    }
+
+    /**
+     * Subscribes the service to the completion of the tasks of the build.
+     *
+     * <p>The service may be subscribed several times. The repeated events of a task carry
+     * the same time.
+     *
+     * @return {@code true} if the service is subscribed, {@code false} if the build does not
+     *         provide the task completion events, e.g. when the project is created by
+     *         {@code ProjectBuilder}
+     */
+    static boolean listen(Project project, Provider<CodegenTimings> timings) {
+        checkNotNull(project);
+        checkNotNull(timings);
+        try {
+            project.getObjects()
+                   .newInstance(Listeners.class)
+                   .getRegistry()
+                   .onTaskCompletion(timings);
+            return true;
+        } catch (RuntimeException e) {
+            project.getLogger()
+                   .info("Task completion events are not available. " +
+                                 "The time of the code generation tasks is not reported.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Makes the service measure the time of the given task.
+     *
+     * <p>The service must be {@linkplain #listen subscribed} to the task completion events.
+     */
+    static void measure(Task task, Provider<CodegenTimings> timings) {
+        checkNotNull(task);
+        checkNotNull(timings);
+        task.usesService(timings);
+        task.doFirst(new Start(timings));
+    }
+
+    /**
+     * Obtains the time of the tasks with the given paths, in milliseconds.
+     *
+     * <p>If some of the tasks have started, waits until their completion is reported, but no
+     * longer than {@value #AWAIT_MILLIS} milliseconds for all the tasks together.
+     *
+     * @return the time of the tasks by their paths; the tasks which have not been executed
+     *         during this build, or which completion is not reported in time, are omitted
+     */
+    synchronized ImmutableMap<String, Long> millisOf(Collection<String> taskPaths) {
+        checkNotNull(taskPaths);
+        long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+        long remaining = AWAIT_MILLIS;
+        while (awaited(taskPaths) && remaining > 0) {
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                break;
+            }
+            remaining = deadline - System.currentTimeMillis();
+        }
+        ImmutableMap.Builder<String, Long> result = ImmutableMap.builder();
+        for (String taskPath : taskPaths) {
+            Long taskMillis = millis.get(taskPath);
+            if (taskMillis != null) {
+                result.put(taskPath, taskMillis);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Tells if any of the given tasks has started, but its completion is not reported yet.
+     */
+    private boolean awaited(Collection<String> taskPaths) {
+        return taskPaths.stream()
+                        .anyMatch(path -> started.contains(path) && !millis.containsKey(path));
+    }
+
+    @Override
+    public void onFinish(FinishEvent event) {
+        if (!(event instanceof TaskFinishEvent)) {
+            return;
+        }
+        String taskPath = ((TaskFinishEvent) event).getDescriptor()
+                                                   .getTaskPath();
+        TaskOperationResult result = ((TaskFinishEvent) event).getResult();
+        if (started.contains(taskPath) && executed(result)) {
+            record(taskPath, result.getEndTime() - result.getStartTime());
+        }
+    }
+
+    private static boolean executed(TaskOperationResult result) {
+        if (result instanceof TaskSkippedResult) {
+            return false;
+        }
+        if (result instanceof TaskSuccessResult) {
+            TaskSuccessResult success = (TaskSuccessResult) result;
+            return !success.isUpToDate() && !success.isFromCache();
+        }
+        return true;
+    }
+
+    private synchronized void record(String taskPath, long taskMillis) {
+        millis.put(taskPath, taskMillis);
+        notifyAll();
+    }
+
+    private void start(String taskPath) {
+        started.add(taskPath);
+    }
+
+    /**
+     * Obtains the registry of the build event listeners.
+     *
+     * <p>The class is public and abstract, so that Gradle is able to instantiate it.
+     */
+    public abstract static class Listeners {
+
+        @Inject
+        public abstract BuildEventsListenerRegistry getRegistry();
+    }
+
+    /**
+     * Marks the start of a task.
+     */
+    private static final class Start implements Action<Task> {
+
+        private final Provider<CodegenTimings> timings;
+
+        private Start(Provider<CodegenTimings> timings) {
+            this.timings = timings;
+        }
+
+        @Override
+        public void execute(Task task) {
+            timings.get()
+                   .start(task.getPath());
+        }
+    }
+}
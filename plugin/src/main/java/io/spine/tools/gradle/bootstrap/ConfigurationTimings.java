@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import io.spine.tools.gradle.config.BuildProperties;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A build service which collects the time spent by the plugin on the configuration of each
+ * project.
+ *
+ * <p>The timings are collected only if the {@value #PROPERTY} Gradle property is set to
+ * {@code true}. When the build finishes, the service logs the summary of the timings, from
+ * the slowest project to the fastest one.
+ *
+ * <p>If the configuration is loaded from the configuration cache, the plugin configures nothing,
+ * and no summary is logged.
+ *
+ * <p>The class is public and abstract, so that Gradle is able to instantiate it.
+ */
+public abstract class ConfigurationTimings
+        implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    /**
+     * The name of the Gradle property which enables the timings.
+     */
+    public static final String PROPERTY = "spine.configuration.timings";
+
+    private static final String NAME = "spineConfigurationTimings";
+    private static final Logger logger = Logging.getLogger(ConfigurationTimings.class);
+
+    private final Map<String, ProjectTimings> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Obtains the timings of the given project.
+     *
+     * <p>If the timings are not enabled, returns the timings which do not measure anything.
+     */
+    static ProjectTimings of(Project project) {
+        checkNotNull(project);
+        boolean enabled = BuildProperties.of(project)
+                                         .isEnabled(PROPERTY);
+        if (!enabled) {
+            return ProjectTimings.disabled();
+        }
+        ConfigurationTimings service =
+                project.getGradle()
+                       .getSharedServices()
+                       .registerIfAbsent(NAME, ConfigurationTimings.class, spec -> {})
+                       .get();
+        return service.projects.computeIfAbsent(project.getPath(), ProjectTimings::of);
+    }
+
+    @Override
+    public void close() {
+        if (!projects.isEmpty()) {
+            logger.lifecycle(ProjectTimings.summary(projects.values()));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import io.spine.dart.PubCache;
+import org.apache.tools.ant.taskdefs.condition.Os;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAllLines;
+import static org.apache.tools.ant.taskdefs.condition.Os.FAMILY_WINDOWS;
+
+/**
+ * The {@code dart_code_gen} command-line tool installed into the Pub cache.
+ */
+final class DartCodeGen {
+
+    static final String NAME = "dart_code_gen";
+
+    /**
+     * The version reported when the installed version of the tool cannot be determined.
+     */
+    static final String UNKNOWN_VERSION = "unknown";
+
+    private static final String VERSION_KEY = "version:";
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private DartCodeGen() {
+    }
+
+    /**
+     * Obtains the path to the {@code dart_code_gen} executable.
+     *
+     * <p>The executable is expected in the {@code bin} directory of the Pub cache. The returned
+     * path may not exist if the tool is not installed.
+     */
+    static Path command() {
+        String extension = Os.isFamily(FAMILY_WINDOWS) ? ".bat" : "";
+        Path command = PubCache.bin()
+                               .resolve(NAME + extension);
+        return command;
+    }
+
+    /**
+     * Builds the arguments for a single tool invocation.
+     *
+     * <p>The returned list does not include the executable itself.
+     */
+    static ImmutableList<String> arguments(Path descriptor,
+                                           Path destination,
+                                           String standardTypes,
+                                           String importPrefix) {
+        return ImmutableList.of(
+                "--descriptor", descriptor.toAbsolutePath().toString(),
+                "--destination", destination.toAbsolutePath().toString(),
+                "--standard-types", standardTypes,
+                "--import-prefix", importPrefix
+        );
+    }
+
+    /**
+     * Obtains the version of the globally activated {@code dart_code_gen} package.
+     *
+     * <p>The version is read from the {@code pubspec.lock} file of the package in the Pub cache.
+     * If the file is absent or does not mention the version, returns {@link #UNKNOWN_VERSION}.
+     */
+    static String version() {
+        Path lockFile = PubCache.location()
+                                .resolve("global_packages")
+                                .resolve(NAME)
+                                .resolve("pubspec.lock");
+        if (!exists(lockFile)) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            List<String> lines = readAllLines(lockFile, UTF_8);
+            return versionIn(lines).orElse(UNKNOWN_VERSION);
+        } catch (IOException ignored) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    /**
+     * Finds the version of the tool package in the lines of a {@code pubspec.lock} file.
+     *
+     * <p>The package entry starts with a line {@code "  dart_code_gen:"} and is followed by
+     * the more indented properties of the package, one of which is the version.
+     */
+    @VisibleForTesting
+    static Optional<String> versionIn(List<String> lockFileLines) {
+        String packageEntry = "  " + NAME + ':';
+        boolean inPackage = false;
+        for (String line : lockFileLines) {
+            if (line.equals(packageEntry)) {
+                inPackage = true;
+            } else if (inPackage) {
+                if (!line.startsWith("    ")) {
+                    return Optional.empty();
+                }
+                String property = line.trim();
+                if (property.startsWith(VERSION_KEY)) {
+                    String version = property.substring(VERSION_KEY.length())
+                                             .replace("\"", "")
+                                             .trim();
+                    return Optional.of(version);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import io.spine.logging.Logging;
+import org.gradle.api.GradleException;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A unit of work which launches the {@code dart_code_gen} tool once.
+ *
+ * <p>The action is submitted to the Gradle Worker API, so that several invocations of the tool
+ * may run concurrently. The number of simultaneous invocations is bounded by
+ * the {@code --max-workers} setting of the build.
+ *
+ * <p>The output of the tool is collected separately for each invocation. It is logged once
+ * the tool completes and is reported as a part of the failure if the tool fails.
+ *
+ * <p>The class is public and non-final, so that Gradle is able to instantiate it.
+ */
+public abstract class DartCodeGenAction implements WorkAction<DartCodeGenAction.Parameters>,
+                                                   Logging {
+
+    private final ExecOperations execOperations;
+
+    @Inject
+    public DartCodeGenAction(ExecOperations execOperations) {
+        this.execOperations = checkNotNull(execOperations);
+    }
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        String executable = parameters.getExecutable()
+                                      .get();
+        List<String> arguments = parameters.getArguments()
+                                           .get();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExecResult result = execOperations.exec(spec -> {
+            spec.setExecutable(executable);
+            spec.setArgs(arguments);
+            spec.setStandardOutput(output);
+            spec.setErrorOutput(output);
+            spec.setIgnoreExitValue(true);
+        });
+        String toolOutput = new String(output.toByteArray(), UTF_8).trim();
+        int exitCode = result.getExitValue();
+        if (exitCode != 0) {
+            throw new GradleException(format(
+                    "Command `%s %s` exited with code %s:%n%s",
+                    executable, String.join(" ", arguments), exitCode, toolOutput
+            ));
+        }
+        if (!toolOutput.isEmpty()) {
+            _info().log("`%s` output:%n%s", DartCodeGen.NAME, toolOutput);
+        }
+    }
+
+    /**
+     * The parameters of a single {@code dart_code_gen} invocation.
+     */
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * The path to the tool executable.
+         */
+        Property<String> getExecutable();
+
+        /**
+         * The command-line arguments of the tool.
+         */
+        ListProperty<String> getArguments();
+    }
+}
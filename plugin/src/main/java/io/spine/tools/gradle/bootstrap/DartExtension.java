@@ -27,21 +27,20 @@
 package io.spine.tools.gradle.bootstrap;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Joiner;
-import io.spine.dart.PubCache;
 import io.spine.dart.gradle.Extension;
+import io.spine.dart.gradle.ProtoDartPlugin;
+import io.spine.tools.gradle.GradlePlugin;
 import io.spine.tools.gradle.TaskName;
-import org.apache.tools.ant.taskdefs.condition.Os;
-import org.gradle.api.GradleException;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.tasks.TaskProvider;
 
 import javax.annotation.OverridingMethodsMustInvokeSuper;
-import java.io.IOException;
-import java.nio.file.Path;
+import java.io.File;
 
 import static io.spine.tools.gradle.BaseTaskName.assemble;
 import static io.spine.tools.gradle.ProtobufTaskName.generateProto;
@@ -50,9 +49,6 @@ import static io.spine.tools.gradle.bootstrap.DartTaskName.generateDart;
 import static io.spine.tools.gradle.bootstrap.DartTaskName.generateTestDart;
 import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.dart;
 import static io.spine.tools.gradle.protoc.ProtocPlugin.called;
-import static java.lang.String.format;
-import static java.nio.file.Files.exists;
-import static org.apache.tools.ant.taskdefs.condition.Os.FAMILY_WINDOWS;
 
 /**
  * An extension which configures Dart code generation.
@@ -61,8 +57,6 @@ import static org.apache.tools.ant.taskdefs.condition.Os.FAMILY_WINDOWS;
 public final class DartExtension extends CodeGenExtension {
 
     public static final String TYPES_FILE = "types.dart";
-    private static final String DART_TOOL_NAME = "dart_code_gen";
-    private static final Joiner commandJoiner = Joiner.on(' ');
 
     private final Project project;
 
@@ -77,96 +71,52 @@ public final class DartExtension extends CodeGenExtension {
         super.enableGeneration();
         pluginTarget().applyProtobufPlugin();
         protobufGenerator().enablePlugin(called(dart));
-        pluginTarget().applyProtoDartPlugin();
+        GradlePlugin<?> protoDart = GradlePlugin.implementedIn(ProtoDartPlugin.class);
+        pluginTarget().apply(protoDart);
         createGenerationTasks();
     }
 
+    /**
+     * Registers the Dart generation tasks and wires them into the {@code assemble} task.
+     *
+     * <p>The tasks are registered lazily, so that they are only created and configured if they
+     * are a part of the task graph.
+     */
     private void createGenerationTasks() {
         Extension protoDart = project.getExtensions()
                                      .getByType(Extension.class);
-        Task mainTask = createTask(generateDart,
-                                   protoDart.getMainDescriptorSet(),
-                                   protoDart.getLibDir());
-        Task testTask = createTask(generateTestDart,
-                                   protoDart.getTestDescriptorSet(),
-                                   protoDart.getTestDir());
-        Task assembleTask = project.getTasks()
-                                   .getByName(assemble.name());
-        project.afterEvaluate((p) -> {
-            mainTask.dependsOn(generateProto.name());
-            testTask.dependsOn(generateTestProto.name());
-        });
-        assembleTask.dependsOn(mainTask, testTask);
-        testTask.shouldRunAfter(mainTask);
+        TaskProvider<GenerateDartTask> mainTask =
+                registerTask(generateDart,
+                             protoDart.getMainDescriptorSet(),
+                             protoDart.getLibDir());
+        TaskProvider<GenerateDartTask> testTask =
+                registerTask(generateTestDart,
+                             protoDart.getTestDescriptorSet(),
+                             protoDart.getTestDir());
+        mainTask.configure(task -> task.dependsOn(generateProto.name()));
+        testTask.configure(task -> task.dependsOn(generateTestProto.name()));
+        project.getTasks()
+               .named(assemble.name())
+               .configure(task -> task.dependsOn(mainTask, testTask));
     }
 
-    private Task createTask(TaskName name,
-                            Property<Object> descriptorFile,
-                            DirectoryProperty dartDir) {
+    private TaskProvider<GenerateDartTask> registerTask(TaskName name,
+                                                        Property<Object> descriptorFile,
+                                                        DirectoryProperty dartDir) {
         TaskContainer tasks = project.getTasks();
-        Task foundTask = tasks.findByName(name.name());
-        if (foundTask != null) {
-            return foundTask;
+        String taskName = name.name();
+        if (tasks.getNames()
+                 .contains(taskName)) {
+            return tasks.named(taskName, GenerateDartTask.class);
         }
-        Task task = tasks.create(name.name());
-        task.doLast(t -> runDartTool(descriptorFile, dartDir));
-        return task;
-    }
-
-    private void runDartTool(Property<Object> descriptorFile, DirectoryProperty dartDir) {
-        if (project.file(descriptorFile)
-                   .exists()) {
-            @SuppressWarnings("UseOfProcessBuilder")
-            ProcessBuilder processBuilder = buildDartToolProcess(descriptorFile, dartDir);
-            int exitCode;
-            try {
-                Process dartToolProcess = processBuilder.start();
-                exitCode = dartToolProcess.waitFor();
-            } catch (IOException | InterruptedException e) {
-                throw new GradleException(format("Failed to execute `%s`.", DART_TOOL_NAME), e);
-            }
-            if (exitCode != 0) {
-                throw onProcessError(processBuilder, exitCode);
-            }
-        }
-    }
-
-    private ProcessBuilder buildDartToolProcess(Property<Object> descriptorFile,
-                                                DirectoryProperty dartDir) {
-        Path command = dartCodeGenCommand();
-        @SuppressWarnings("UseOfProcessBuilder")
-        ProcessBuilder processBuilder = new ProcessBuilder(
-                command.toString(),
-                "--descriptor", project.file(descriptorFile)
-                                       .getAbsolutePath(),
-                "--destination", dartDir.file(TYPES_FILE)
-                                        .get()
-                                        .getAsFile()
-                                        .getAbsolutePath(),
-                "--standard-types", "spine_client",
-                "--import-prefix", "."
-        ).inheritIO();
-        return processBuilder;
-    }
-
-    private static GradleException onProcessError(
-            @SuppressWarnings("UseOfProcessBuilder") ProcessBuilder processBuilder,
-            int exitCode
-    ) {
-        String command = commandJoiner.join(processBuilder.command());
-        throw new GradleException(format("Command `%s` exited with code %s.", command, exitCode));
-    }
-
-    private Path dartCodeGenCommand() {
-        String extension = Os.isFamily(FAMILY_WINDOWS) ? ".bat" : "";
-        Path command = PubCache.bin()
-                               .resolve(DART_TOOL_NAME + extension);
-        if (!exists(command)) {
-            _warn().log("Cannot locate `dart_code_gen` under `%s`. " +
-                                "To install, run `pub global activate %s`.",
-                        command, DART_TOOL_NAME);
-        }
-        return command;
+        Provider<File> descriptor = descriptorFile.map(project::file);
+        Provider<RegularFile> typesFile = dartDir.file(TYPES_FILE);
+        return tasks.register(taskName, GenerateDartTask.class, task -> {
+            task.getDescriptorSet()
+                .fileProvider(descriptor);
+            task.getTypesFile()
+                .set(typesFile);
+        });
     }
 
     /**
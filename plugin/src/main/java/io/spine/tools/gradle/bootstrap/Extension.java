@@ -26,6 +26,7 @@
 
 package io.spine.tools.gradle.bootstrap;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import groovy.lang.Closure;
 import io.spine.tools.gradle.ConfigurationName;
@@ -34,17 +35,23 @@ import io.spine.tools.gradle.project.Dependant;
 import io.spine.tools.gradle.project.PluginTarget;
 import io.spine.tools.gradle.project.SourceSuperset;
 import io.spine.tools.gradle.protoc.ProtobufGenerator;
+import io.spine.tools.gradle.protoc.ProtocPlugin.Name;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
-import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.ConfigurationContainer;
-import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.compile.JavaCompile;
 
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.gradle.JavaTaskName.compileJava;
 import static io.spine.tools.gradle.JavaTaskName.compileTestJava;
-import static io.spine.tools.groovy.ConsumerClosure.closure;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.called;
 import static org.gradle.util.ConfigureUtil.configure;
 
 /**
@@ -52,26 +59,34 @@ import static org.gradle.util.ConfigureUtil.configure;
  *
  * <p>Configures the project as a {@linkplain #enableJava() Java} or/and
  * a {@linkplain #enableJavaScript() JavaScript} project based on Spine.
+ *
+ * <p>The extensions which configure the code generation in each language are created upon
+ * the first use, so that a project does not pay for the languages it does not use. The classes
+ * of such an extension, and of the plugins it applies, are not loaded unless the language is
+ * enabled.
  */
 public final class Extension {
 
     @SuppressWarnings("DuplicateStringLiteralInspection") // Used in tests and with other meanings.
     static final String NAME = "spine";
 
-    private final JavaExtension java;
-    private final JavaScriptExtension javaScript;
-    private final DartExtension dart;
-    private final ModelExtension modelExtension;
+    private final Builder builder;
+    private final ProtobufGenerator generator;
+    private @Nullable JavaExtension java;
+    private @Nullable JavaScriptExtension javaScript;
+    private @Nullable DartExtension dart;
+    private @Nullable ModelExtension modelExtension;
     private final ArtifactSnapshot artifacts;
     private final Project project;
     private boolean javaEnabled;
+    private boolean compileJavaConditionAdded;
     private boolean forceDependencies;
+    private int protocShards;
+    private @Nullable Boolean skipCodegen;
 
     private Extension(Builder builder) {
-        this.java = builder.buildJavaExtension();
-        this.javaScript = builder.buildJavaScriptExtension();
-        this.dart = builder.buildDartExtension();
-        this.modelExtension = builder.buildModelExtension();
+        this.builder = builder;
+        this.generator = builder.generator;
         this.project = builder.project;
         this.artifacts = builder.artifacts;
     }
@@ -98,7 +113,7 @@ public final class Extension {
     public void enableJava(Closure configuration) {
         checkNotNull(configuration);
         enableJava();
-        configure(configuration, java);
+        configure(configuration, java());
     }
 
     /**
@@ -111,7 +126,7 @@ public final class Extension {
     public void enableJava(Action<JavaExtension> configuration) {
         checkNotNull(configuration);
         enableJava();
-        configuration.execute(java);
+        configuration.execute(java());
     }
 
     /**
@@ -123,10 +138,13 @@ public final class Extension {
      */
     @CanIgnoreReturnValue
     public JavaExtension enableJava() {
-        java.enableGeneration();
-        toggleJavaTasks(true);
-        disableTransitiveProtos();
-        return java;
+        ProjectTimings timings = ConfigurationTimings.of(project);
+        timings.measure("enableJava", () -> {
+            enable(java());
+            toggleJavaTasks(true);
+            disableTransitiveProtos();
+        });
+        return java();
     }
 
     /**
@@ -137,12 +155,13 @@ public final class Extension {
      */
     @CanIgnoreReturnValue
     public JavaScriptExtension enableJavaScript() {
-        javaScript.enableGeneration();
-        if (!this.javaEnabled) {
-            toggleJavaTasks(false);
-        }
-        disableTransitiveProtos();
-        return javaScript;
+        ProjectTimings timings = ConfigurationTimings.of(project);
+        timings.measure("enableJavaScript", () -> {
+            enable(javaScript());
+            disableJavaTasksIfUnused();
+            disableTransitiveProtos();
+        });
+        return javaScript();
     }
 
     /**
@@ -153,12 +172,13 @@ public final class Extension {
      */
     @CanIgnoreReturnValue
     public DartExtension enableDart() {
-        dart.enableGeneration();
-        if (!this.javaEnabled) {
-            toggleJavaTasks(false);
-        }
-        disableTransitiveProtos();
-        return dart;
+        ProjectTimings timings = ConfigurationTimings.of(project);
+        timings.measure("enableDart", () -> {
+            enable(dart());
+            disableJavaTasksIfUnused();
+            disableTransitiveProtos();
+        });
+        return dart();
     }
 
     /**
@@ -168,7 +188,75 @@ public final class Extension {
      * sets.
      */
     public void assembleModel() {
-        this.modelExtension.enableGeneration();
+        enable(modelExtension());
+    }
+
+    private JavaExtension java() {
+        if (java == null) {
+            java = inheritEnforcement(builder.buildJavaExtension());
+        }
+        return java;
+    }
+
+    private JavaScriptExtension javaScript() {
+        if (javaScript == null) {
+            javaScript = inheritEnforcement(builder.buildJavaScriptExtension());
+        }
+        return javaScript;
+    }
+
+    private DartExtension dart() {
+        if (dart == null) {
+            dart = builder.buildDartExtension();
+        }
+        return dart;
+    }
+
+    private ModelExtension modelExtension() {
+        if (modelExtension == null) {
+            modelExtension = inheritEnforcement(builder.buildModelExtension());
+        }
+        return modelExtension;
+    }
+
+    /**
+     * Enforces the dependencies of the given newly created extension if
+     * the {@linkplain #setForceDependencies(boolean) enforcement} is already enabled.
+     */
+    private <E extends CodeGenExtension> E inheritEnforcement(E extension) {
+        if (forceDependencies) {
+            extension.forceDependencies();
+        }
+        return extension;
+    }
+
+    /**
+     * Enables the code generation of the given extension, unless the project has no Protobuf
+     * definitions to generate the code from.
+     *
+     * @see ProtoSources
+     */
+    private void enable(CodeGenExtension extension) {
+        if (skipCodegen()) {
+            extension.enableWithoutCodegen();
+        } else {
+            extension.enableGeneration();
+        }
+    }
+
+    /**
+     * Tells if the code generation is skipped in this project.
+     *
+     * <p>The project directories are scanned once, upon the first request to enable
+     * the code generation.
+     */
+    private boolean skipCodegen() {
+        if (skipCodegen == null) {
+            ProjectTimings timings = ConfigurationTimings.of(project);
+            skipCodegen = timings.measure("detectProtoSources",
+                                          () -> ProtoSources.skipCodegen(project));
+        }
+        return skipCodegen;
     }
 
     /**
@@ -209,25 +297,73 @@ public final class Extension {
     }
 
     /**
-     * Enforces the dependency configuration needed for all child extensions.
+     * Returns the maximum number of concurrent {@code protoc} processes which compile
+     * the Protobuf definitions of a source set.
+     *
+     * <p>The value of {@code 0} or {@code 1} means that each source set is compiled by a single
+     * {@code protoc} process, which is the default.
+     */
+    public int getProtocShards() {
+        return protocShards;
+    }
+
+    /**
+     * Sets the maximum number of concurrent {@code protoc} processes which compile
+     * the Protobuf definitions of a source set.
+     *
+     * <p>If the number is greater than {@code 1}, the proto files of a source set are split into
+     * shards of a similar total size. The shards are compiled concurrently through the Gradle
+     * Worker API. The generated code is put into the same directories as if the files were
+     * compiled at once.
+     *
+     * <p>The files which import one another may belong to different shards. Each {@code protoc}
+     * process receives all the include directories, and thus resolves the imported files on its
+     * own. Keeping the importing files in the same shard would leave a model in which most files
+     * import a few common ones with a single large shard.
+     *
+     * <p>In Gradle build script may be used as follows:
+     * <pre>
+     *     {@code
+     *     spine {
+     *         protocShards = 8
+     *     }
+     *     }
+     * </pre>
+     */
+    public void setProtocShards(int protocShards) {
+        checkArgument(protocShards >= 0, "The number of `protoc` shards cannot be negative.");
+        this.protocShards = protocShards;
+        ProtobufGenerator.of(project)
+                         .compileInShards(protocShards);
+    }
+
+    /**
+     * Enforces the dependency configuration needed for the created child extensions.
+     *
+     * <p>The extensions created later inherit the enforcement upon creation.
      *
      * @see #setForceDependencies(boolean)
      */
     private void forceDependencies() {
-        java.forceDependencies();
-        javaScript.forceDependencies();
-        modelExtension.forceDependencies();
+        createdExtensions().forEach(CodeGenExtension::forceDependencies);
     }
 
     /**
-     * Disables dependency enforcement for all child extensions.
+     * Disables dependency enforcement for the created child extensions.
      *
      * @see #setForceDependencies(boolean)
      */
     private void disableDependencyEnforcement() {
-        java.disableDependencyEnforcement();
-        javaScript.disableDependencyEnforcement();
-        modelExtension.disableDependencyEnforcement();
+        createdExtensions().forEach(CodeGenExtension::disableDependencyEnforcement);
+    }
+
+    /**
+     * Obtains the child extensions subject to the dependency enforcement which are
+     * already created.
+     */
+    private Stream<CodeGenExtension> createdExtensions() {
+        return Stream.<CodeGenExtension>of(java, javaScript, modelExtension)
+                     .filter(Objects::nonNull);
     }
 
     /**
@@ -238,45 +374,75 @@ public final class Extension {
      * if required.
      */
     void disableJavaGeneration() {
-        java.disableGeneration();
+        generator.disableBuiltIn(called(Name.java));
         toggleJavaTasks(false);
     }
 
+    private void disableJavaTasksIfUnused() {
+        if (!this.javaEnabled) {
+            toggleJavaTasks(false);
+        }
+    }
+
     private void toggleJavaTasks(boolean enabled) {
         this.javaEnabled = enabled;
-        toggleCompileJavaTasks(enabled);
+        toggleCompileJavaTasks();
     }
 
     /**
-     * If the {@code protobuf} configuration is present, disables its transitibity.
+     * Disables transitivity of the {@code protobuf} configuration, whenever it is added
+     * to the project.
      *
      * <p>Disabling transitivity leads to exclusion of {@code spine} and
      * {@code com.google.protobuf} dependencies.
      */
     private void disableTransitiveProtos() {
-        project.configurations(closure((ConfigurationContainer container) -> {
-            Configuration protobuf = container.findByName(ConfigurationName.protobuf.name());
-            if (protobuf != null) {
-                protobuf.setTransitive(false);
-            }
-        }));
+        String protobuf = ConfigurationName.protobuf.name();
+        project.getConfigurations()
+               .matching(configuration -> protobuf.equals(configuration.getName()))
+               .configureEach(configuration -> configuration.setTransitive(false));
     }
 
     /**
-     * Attempts to find and change the {@code enabled} flag of
-     * {@code compileJava} and {@code compileTestJava} tasks in the current project.
+     * Makes the {@code compileJava} and {@code compileTestJava} tasks of the current project
+     * execute only if the Java code generation is enabled.
      *
-     * <p>If such tasks could not be found in the project, performs no action.
+     * <p>The condition is evaluated lazily, so the final state of the extension takes effect.
+     * The tasks are not created or configured by this method. The condition is attached to them
+     * when, and if, the tasks are realized.
+     */
+    private void toggleCompileJavaTasks() {
+        if (compileJavaConditionAdded) {
+            return;
+        }
+        compileJavaConditionAdded = true;
+        Provider<Boolean> enabled = project.provider(() -> javaEnabled);
+        ImmutableSet<String> taskNames = ImmutableSet.of(compileJava.name(),
+                                                         compileTestJava.name());
+        project.getTasks()
+               .withType(JavaCompile.class)
+               .configureEach(task -> {
+                   if (taskNames.contains(task.getName())) {
+                       task.onlyIf(new JavaEnabled(enabled));
+                   }
+               });
+    }
+
+    /**
+     * A condition which allows a Java compilation task to execute only if the Java code
+     * generation is enabled.
      */
-    private void toggleCompileJavaTasks(boolean enabled) {
-        TaskContainer tasks = project.getTasks();
-        Task compileJavaTask = tasks.findByPath(compileJava.name());
-        Task compileTestJavaTask = tasks.findByPath(compileTestJava.name());
-        if (compileJavaTask != null) {
-            compileJavaTask.setEnabled(enabled);
+    private static final class JavaEnabled implements Spec<Task> {
+
+        private final Provider<Boolean> enabled;
+
+        private JavaEnabled(Provider<Boolean> enabled) {
+            this.enabled = enabled;
         }
-        if (compileTestJavaTask != null) {
-            compileTestJavaTask.setEnabled(enabled);
+
+        @Override
+        public boolean isSatisfiedBy(Task task) {
+            return enabled.get();
         }
     }
 
@@ -309,7 +475,7 @@ public final class Extension {
 
         Builder setProject(Project project) {
             this.project = checkNotNull(project);
-            this.generator = new ProtobufGenerator(project);
+            this.generator = ProtobufGenerator.of(project);
             return this;
         }
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.logging.Logging;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Task;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Path;
+
+import static io.spine.tools.gradle.bootstrap.DartCodeGen.NAME;
+import static java.nio.file.Files.exists;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
+
+/**
+ * A task which generates the {@code types.dart} type registry by launching
+ * the {@code dart_code_gen} tool.
+ *
+ * <p>The task declares all its inputs and outputs, so that it is up-to-date aware and its
+ * results may be reused from the build cache. The descriptor set file is tracked by its contents
+ * only, which makes the cache entries relocatable between machines.
+ *
+ * <p>If the descriptor set file does not exist, i.e. there are no Protobuf definitions in
+ * the scope, the task is skipped.
+ */
+@CacheableTask
+public abstract class GenerateDartTask extends DefaultTask implements Logging {
+
+    /**
+     * The default set of standard types passed to the tool.
+     */
+    static final String STANDARD_TYPES = "spine_client";
+
+    /**
+     * The default prefix of the generated imports.
+     */
+    static final String IMPORT_PREFIX = ".";
+
+    public GenerateDartTask() {
+        super();
+        getToolVersion().convention(getProject().provider(DartCodeGen::version));
+        getStandardTypes().convention(STANDARD_TYPES);
+        getImportPrefix().convention(IMPORT_PREFIX);
+        onlyIf(new DescriptorSetExists());
+    }
+
+    /**
+     * The descriptor set file of the Protobuf definitions to process.
+     */
+    @InputFile
+    @PathSensitive(NONE)
+    public abstract RegularFileProperty getDescriptorSet();
+
+    /**
+     * The version of the {@code dart_code_gen} tool.
+     *
+     * <p>By default, the version of the tool installed into the Pub cache.
+     */
+    @Input
+    public abstract Property<String> getToolVersion();
+
+    /**
+     * The name of the Dart package which contains the standard Protobuf types.
+     */
+    @Input
+    public abstract Property<String> getStandardTypes();
+
+    /**
+     * The prefix of the imports of the generated Dart files.
+     */
+    @Input
+    public abstract Property<String> getImportPrefix();
+
+    /**
+     * The generated type registry file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getTypesFile();
+
+    /**
+     * The service which executes the {@code dart_code_gen} invocations.
+     */
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * Submits the {@code dart_code_gen} invocation to the Worker API.
+     *
+     * <p>The task does not wait for the tool to complete, so that other tasks of the build,
+     * including the Dart generation tasks of the same project, may run meanwhile.
+     */
+    @TaskAction
+    void generate() {
+        Path executable = DartCodeGen.command();
+        if (!exists(executable)) {
+            _warn().log("Cannot locate `%s` under `%s`. " +
+                                "To install, run `pub global activate %s`.",
+                        NAME, executable, NAME);
+        }
+        ImmutableList<String> arguments = arguments();
+        getWorkerExecutor().noIsolation()
+                           .submit(DartCodeGenAction.class, parameters -> {
+                               parameters.getExecutable()
+                                         .set(executable.toString());
+                               parameters.getArguments()
+                                         .set(arguments);
+                           });
+    }
+
+    private ImmutableList<String> arguments() {
+        File descriptor = getDescriptorSet().getAsFile()
+                                            .get();
+        File typesFile = getTypesFile().getAsFile()
+                                       .get();
+        ImmutableList<String> arguments = DartCodeGen.arguments(descriptor.toPath(),
+                                                                typesFile.toPath(),
+                                                                getStandardTypes().get(),
+                                                                getImportPrefix().get());
+        return arguments;
+    }
+
+    /**
+     * A condition under which the task is executed.
+     *
+     * <p>The task runs only if the descriptor set file exists.
+     */
+    private static final class DescriptorSetExists implements Spec<Task> {
+
+        @Override
+        public boolean isSatisfiedBy(Task task) {
+            GenerateDartTask generateDart = (GenerateDartTask) task;
+            boolean result = generateDart.getDescriptorSet()
+                                         .getAsFile()
+                                         .get()
+                                         .exists();
+            return result;
+        }
+    }
+}
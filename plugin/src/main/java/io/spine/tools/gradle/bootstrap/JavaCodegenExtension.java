@@ -77,7 +77,7 @@ public final class JavaCodegenExtension implements Logging {
                                           ArtifactSnapshot artifacts) {
         checkNotNull(project);
         checkNotNull(dependant);
-        ProtobufGenerator generator = new ProtobufGenerator(project);
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
         return new JavaCodegenExtension(project, generator, dependant, artifacts);
     }
 
@@ -75,13 +75,31 @@ public final class JavaExtension extends CodeGenExtension {
     @Override
     void enableGeneration() {
         super.enableGeneration();
-        dependOn(testlib().ofVersion(artifacts.spineBaseVersion()), testImplementation);
-        dependOn(testUtilTime().ofVersion(artifacts.spineTimeVersion()), testImplementation);
+        dependOnTestLibraries();
         pluginTarget().applyModelCompiler();
-        pluginTarget().apply(SpinePluginScripts.modelCompilerConfig());
+        ProjectTimings timings = ConfigurationTimings.of(project);
+        timings.measure("modelCompilerConfig", () -> ModelCompilerConfig.applyTo(project));
         addSourceSets();
         excludeProtobufLite();
-        pluginTarget().withIdeaPlugin(this::configureIdea);
+        pluginTarget().withIdeaPlugin(
+                idea -> timings.measure("configureIdea", () -> configureIdea(idea))
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Also adds the Spine testing libraries to the project.
+     */
+    @Override
+    void enableWithoutCodegen() {
+        super.enableWithoutCodegen();
+        dependOnTestLibraries();
+    }
+
+    private void dependOnTestLibraries() {
+        dependOn(testlib().ofVersion(artifacts.spineBaseVersion()), testImplementation);
+        dependOn(testUtilTime().ofVersion(artifacts.spineTimeVersion()), testImplementation);
     }
 
     private void configureIdea(IdeaModel idea) {
@@ -27,6 +27,8 @@
 package io.spine.tools.gradle.bootstrap;
 
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
+import io.spine.js.gradle.ProtoJsPlugin;
+import io.spine.tools.gradle.GradlePlugin;
 import io.spine.tools.gradle.protoc.ProtocPlugin;
 
 import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.js;
@@ -46,7 +48,8 @@ final class JavaScriptExtension extends CodeGenExtension {
     @Override
     void enableGeneration() {
         super.enableGeneration();
-        pluginTarget().applyProtoJsPlugin();
+        GradlePlugin<?> protoJs = GradlePlugin.implementedIn(ProtoJsPlugin.class);
+        pluginTarget().apply(protoJs);
     }
 
     static Builder newBuilder() {
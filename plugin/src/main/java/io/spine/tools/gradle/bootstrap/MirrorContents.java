@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.ResolvedArtifact;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.result.ArtifactResult;
+import org.gradle.api.artifacts.result.ComponentArtifactsResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.maven.MavenModule;
+import org.gradle.maven.MavenPomArtifact;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The files which a {@linkplain PopulateMirrorTask mirror repository} should contain.
+ *
+ * <p>The contents are the resolved artifacts along with their dependencies and POM files,
+ * including the parent POMs and the imported BOMs. Each file is mapped to its path within
+ * the Maven repository layout.
+ *
+ * <p>The detached configuration of the artifacts is created along with the instance. The mirror
+ * task creates the instance once the notations of the artifacts are known, i.e. after all
+ * the projects are evaluated. The resolution happens once the {@linkplain #resolve() contents}
+ * are requested.
+ */
+final class MirrorContents {
+
+    private static final String POM_EXTENSION = "pom";
+
+    private final ConfigurationContainer configurations;
+    private final DependencyHandler dependencies;
+    private final Configuration artifacts;
+
+    private MirrorContents(Project project, List<String> notations) {
+        this.configurations = project.getConfigurations();
+        this.dependencies = project.getDependencies();
+        this.artifacts = detachedConfiguration(notations.toArray(new String[0]));
+    }
+
+    /**
+     * Creates the contents of the mirror which consist of the given artifacts.
+     *
+     * @param project
+     *         the project which repositories are used to resolve the artifacts
+     * @param notations
+     *         the notations of the artifacts to copy along with their dependencies
+     */
+    static MirrorContents of(Project project, List<String> notations) {
+        return new MirrorContents(project, notations);
+    }
+
+    /**
+     * Resolves the files of the mirror.
+     *
+     * @return the resolved files by their paths within the mirror repository
+     */
+    ImmutableMap<String, File> resolve() {
+        Map<String, File> contents = new LinkedHashMap<>();
+        for (ResolvedArtifact artifact : artifacts.getResolvedConfiguration()
+                                                  .getResolvedArtifacts()) {
+            ModuleVersionIdentifier id = artifact.getModuleVersion()
+                                                 .getId();
+            contents.put(path(id.getGroup(), id.getName(), id.getVersion(),
+                              artifact.getClassifier(), artifact.getExtension()),
+                         artifact.getFile());
+        }
+        Set<ComponentIdentifier> components =
+                artifacts.getIncoming()
+                         .getResolutionResult()
+                         .getAllComponents()
+                         .stream()
+                         .map(ResolvedComponentResult::getId)
+                         .filter(ModuleComponentIdentifier.class::isInstance)
+                         .collect(toSet());
+        Set<File> poms = addPoms(components, contents);
+        addReferencedPoms(poms, contents);
+        return ImmutableMap.copyOf(contents);
+    }
+
+    /**
+     * Adds the POM files of the given components to the contents.
+     *
+     * @return the added POM files
+     */
+    private Set<File> addPoms(Set<ComponentIdentifier> components, Map<String, File> contents) {
+        Set<File> poms = new HashSet<>();
+        Set<ComponentArtifactsResult> results =
+                dependencies.createArtifactResolutionQuery()
+                            .forComponents(components)
+                            .withArtifacts(MavenModule.class, MavenPomArtifact.class)
+                            .execute()
+                            .getResolvedComponents();
+        for (ComponentArtifactsResult component : results) {
+            ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+            for (ArtifactResult result : component.getArtifacts(MavenPomArtifact.class)) {
+                if (result instanceof ResolvedArtifactResult) {
+                    File pom = ((ResolvedArtifactResult) result).getFile();
+                    contents.put(path(id.getGroup(), id.getModule(), id.getVersion(),
+                                      null, POM_EXTENSION),
+                                 pom);
+                    poms.add(pom);
+                }
+            }
+        }
+        return poms;
+    }
+
+    /**
+     * Adds the parent POMs and the imported BOMs of the given POM files, recursively.
+     */
+    private void addReferencedPoms(Set<File> poms, Map<String, File> contents) {
+        Deque<File> queue = new ArrayDeque<>(poms);
+        Set<String> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            File pom = queue.poll();
+            for (String reference : PomReferences.in(pom)) {
+                if (visited.add(reference)) {
+                    Configuration configuration = detachedConfiguration(reference);
+                    for (ResolvedArtifact artifact : configuration.getResolvedConfiguration()
+                                                                  .getResolvedArtifacts()) {
+                        ModuleVersionIdentifier id = artifact.getModuleVersion()
+                                                             .getId();
+                        contents.put(path(id.getGroup(), id.getName(), id.getVersion(),
+                                          null, POM_EXTENSION),
+                                     artifact.getFile());
+                        queue.add(artifact.getFile());
+                    }
+                }
+            }
+        }
+    }
+
+    private Configuration detachedConfiguration(String... notations) {
+        Dependency[] dependencies = new Dependency[notations.length];
+        for (int i = 0; i < notations.length; i++) {
+            dependencies[i] = this.dependencies.create(notations[i]);
+        }
+        return configurations.detachedConfiguration(dependencies);
+    }
+
+    /**
+     * Composes the path of an artifact within a Maven repository.
+     */
+    private static String path(String group,
+                               String name,
+                               String version,
+                               @Nullable String classifier,
+                               String extension) {
+        String fileName = classifier == null || classifier.isEmpty()
+                          ? format("%s-%s.%s", name, version, extension)
+                          : format("%s-%s-%s.%s", name, version, classifier, extension);
+        return String.join("/", group.replace('.', '/'), name, version, fileName);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.config.SpineDependency;
+
+import static io.spine.tools.gradle.config.SpineDependency.base;
+import static io.spine.tools.gradle.config.SpineDependency.client;
+import static io.spine.tools.gradle.config.SpineDependency.datastore;
+import static io.spine.tools.gradle.config.SpineDependency.firebaseWeb;
+import static io.spine.tools.gradle.config.SpineDependency.server;
+import static io.spine.tools.gradle.config.SpineDependency.testUtilClient;
+import static io.spine.tools.gradle.config.SpineDependency.testUtilServer;
+import static io.spine.tools.gradle.config.SpineDependency.testUtilTime;
+import static io.spine.tools.gradle.config.SpineDependency.testlib;
+import static io.spine.tools.gradle.config.SpineDependency.time;
+import static io.spine.tools.gradle.config.SpineDependency.web;
+
+/**
+ * The artifacts which the {@link BootstrapPlugin} may add to a project.
+ *
+ * <p>The artifacts are the roots of the dependency closure which a
+ * {@linkplain PopulateMirrorTask mirror repository} should contain.
+ */
+final class MirroredArtifacts {
+
+    /**
+     * The classifiers of the {@code protoc} executables for the supported platforms.
+     */
+    @VisibleForTesting
+    static final ImmutableList<String> PROTOC_CLASSIFIERS = ImmutableList.of(
+            "linux-x86_64",
+            "linux-aarch_64",
+            "osx-x86_64",
+            "windows-x86_64"
+    );
+
+    private static final String MODEL_COMPILER = "io.spine.tools:spine-model-compiler:";
+    private static final String EXECUTABLE_EXTENSION = "@exe";
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private MirroredArtifacts() {
+    }
+
+    /**
+     * Obtains the notations of the artifacts which may be added to a project.
+     */
+    static ImmutableList<String> of(ArtifactSnapshot artifacts) {
+        String baseVersion = artifacts.spineBaseVersion();
+        String timeVersion = artifacts.spineTimeVersion();
+        String coreVersion = artifacts.spineVersion();
+        String webVersion = artifacts.spineWebVersion();
+        ImmutableList.Builder<String> notations = ImmutableList.builder();
+        notations.add(notation(base(), baseVersion),
+                      notation(testlib(), baseVersion),
+                      MODEL_COMPILER + baseVersion,
+                      notation(time(), timeVersion),
+                      notation(testUtilTime(), timeVersion),
+                      notation(client(), coreVersion),
+                      notation(testUtilClient(), coreVersion),
+                      notation(server(), coreVersion),
+                      notation(testUtilServer(), coreVersion),
+                      notation(web(), webVersion),
+                      notation(firebaseWeb(), webVersion),
+                      notation(datastore(), artifacts.spineGCloudVersion()),
+                      artifacts.protobufJava());
+        notations.addAll(artifacts.grpcDependencies());
+        notations.addAll(executables(artifacts.protoc()));
+        return notations.build();
+    }
+
+    /**
+     * Obtains the notations of the given {@code protoc} or {@code protoc} plugin executable
+     * for all the supported platforms.
+     *
+     * <p>If the artifact already specifies the extension or the classifier, it does not depend
+     * on the platform, and is used as-is, the same way the Protobuf plugin does.
+     */
+    static ImmutableList<String> executables(String artifact) {
+        if (artifact.indexOf('@') >= 0) {
+            return ImmutableList.of(artifact);
+        }
+        if (Splitter.on(':')
+                    .splitToList(artifact)
+                    .size() > 3) {
+            return ImmutableList.of(artifact + EXECUTABLE_EXTENSION);
+        }
+        ImmutableList.Builder<String> notations = ImmutableList.builder();
+        for (String classifier : PROTOC_CLASSIFIERS) {
+            notations.add(artifact + ':' + classifier + EXECUTABLE_EXTENSION);
+        }
+        return notations.build();
+    }
+
+    private static String notation(SpineDependency dependency, String version) {
+        return dependency.ofVersion(version)
+                         .notation();
+    }
+}
@@ -26,51 +26,40 @@
 
 package io.spine.tools.gradle.bootstrap;
 
-import io.spine.io.Resource;
-import io.spine.tools.gradle.PluginScript;
+import io.spine.tools.gradle.compiler.Extension;
+import io.spine.tools.gradle.compiler.ModelCompilerPlugin;
+import org.gradle.api.Project;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * A factory of Spine-specific {@link PluginScript}s.
+ * Configures the {@link ModelCompilerPlugin} to the recommended settings.
+ *
+ * <p>The settings are applied by the compiled plugin code, so that no Gradle script is compiled
+ * and evaluated in the projects of the build.
  *
- * <p>These scripts are read from the plugin resources at runtime. When building the plugin,
- * the script files are copied from the {@code config} submodule.
+ * <p>The settings are the same as the ones of the {@code gradle/model-compiler.gradle} script of
+ * the shared {@code config} repository, which the plugin used to apply. Whenever the script
+ * changes, the settings should be updated accordingly.
  */
-final class SpinePluginScripts {
+final class ModelCompilerConfig {
 
     /**
      * Prevents the utility class instantiation.
      */
-    private SpinePluginScripts() {
+    private ModelCompilerConfig() {
     }
 
     /**
-     * Obtains the {@code model-compiler.gradle} script.
+     * Applies the recommended settings to the {@code modelCompiler} extension of
+     * the given project.
      *
-     * <p>The script configures the {@link io.spine.tools.gradle.compiler.ModelCompilerPlugin} to
-     * the recommended settings.
-     */
-    static PluginScript modelCompilerConfig() {
-        return PluginScript.declaredIn(Name.MODEL_COMPILER.resourceFile());
-    }
-
-    /**
-     * The names of the existing plugin scripts.
+     * <p>The {@link ModelCompilerPlugin} must be applied to the project.
      */
-    enum Name {
-
-        MODEL_COMPILER("model-compiler");
-
-        private static final String SCRIPT_EXTENSION = ".gradle";
-
-        private final String name;
-
-        Name(String name) {
-            this.name = name;
-        }
-
-        private Resource resourceFile() {
-            String resourceName = name + SCRIPT_EXTENSION;
-            return Resource.file(resourceName, SpinePluginScripts.class.getClassLoader());
-        }
+    static void applyTo(Project project) {
+        checkNotNull(project);
+        Extension modelCompiler = project.getExtensions()
+                                         .getByType(Extension.class);
+        modelCompiler.generateValidation = true;
     }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.GradleException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * The POM files referenced by a Maven POM file.
+ *
+ * <p>A POM may reference its parent POM and the BOMs imported in its
+ * {@code dependencyManagement} section. Those POMs are not a part of the resolved dependency
+ * graph, but are required to resolve the module from a Maven repository.
+ */
+final class PomReferences {
+
+    private static final String POM_EXTENSION = "@pom";
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private PomReferences() {
+    }
+
+    /**
+     * Obtains the notations of the POMs referenced by the given POM file.
+     *
+     * <p>The references which cannot be interpolated with the properties declared in the POM
+     * itself are omitted.
+     */
+    static ImmutableSet<String> in(File pom) {
+        Element project = parse(pom).getDocumentElement();
+        ImmutableSet.Builder<String> references = ImmutableSet.builder();
+        Optional<Element> parent = child(project, "parent");
+        Map<String, String> properties = properties(project, parent.orElse(null));
+        parent.flatMap(element -> notation(element, properties))
+              .ifPresent(references::add);
+        child(project, "dependencyManagement")
+                .flatMap(management -> child(management, "dependencies"))
+                .ifPresent(dependencies -> {
+                    for (Element dependency : children(dependencies, "dependency")) {
+                        if (isImport(dependency)) {
+                            notation(dependency, properties).ifPresent(references::add);
+                        }
+                    }
+                });
+        return references.build();
+    }
+
+    private static boolean isImport(Element dependency) {
+        String scope = text(dependency, "scope").orElse("");
+        String type = text(dependency, "type").orElse("");
+        return "import".equals(scope) && "pom".equals(type);
+    }
+
+    private static Optional<String> notation(Element element, Map<String, String> properties) {
+        Optional<String> group = interpolated(element, "groupId", properties);
+        Optional<String> name = interpolated(element, "artifactId", properties);
+        Optional<String> version = interpolated(element, "version", properties);
+        if (!group.isPresent() || !name.isPresent() || !version.isPresent()) {
+            return Optional.empty();
+        }
+        String notation = format("%s:%s:%s", group.get(), name.get(), version.get());
+        if (PROPERTY.matcher(notation)
+                    .find()) {
+            return Optional.empty();
+        }
+        return Optional.of(notation + POM_EXTENSION);
+    }
+
+    private static Optional<String>
+    interpolated(Element element, String tag, Map<String, String> properties) {
+        return text(element, tag).map(value -> interpolate(value, properties));
+    }
+
+    /**
+     * Collects the properties declared in the POM and the properties describing the project.
+     */
+    private static Map<String, String> properties(Element project, @Nullable Element parent) {
+        Map<String, String> properties = new HashMap<>();
+        child(project, "properties").ifPresent(
+                declared -> children(declared, null).forEach(
+                        property -> properties.put(property.getTagName(),
+                                                   property.getTextContent()
+                                                           .trim())
+                )
+        );
+        Optional<String> parentVersion = Optional.empty();
+        Optional<String> parentGroup = Optional.empty();
+        if (parent != null) {
+            parentVersion = text(parent, "version");
+            parentGroup = text(parent, "groupId");
+            parentVersion.ifPresent(version -> properties.put("project.parent.version", version));
+        }
+        Optional<String> version = text(project, "version");
+        if (!version.isPresent()) {
+            version = parentVersion;
+        }
+        version.ifPresent(value -> properties.put("project.version", value));
+        Optional<String> group = text(project, "groupId");
+        if (!group.isPresent()) {
+            group = parentGroup;
+        }
+        group.ifPresent(value -> properties.put("project.groupId", value));
+        return properties;
+    }
+
+    private static String interpolate(String value, Map<String, String> properties) {
+        Matcher matcher = PROPERTY.matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String replacement = properties.getOrDefault(matcher.group(1), matcher.group());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static Optional<String> text(Element element, String tag) {
+        return child(element, tag).map(child -> child.getTextContent()
+                                                     .trim());
+    }
+
+    private static Optional<Element> child(Element element, String tag) {
+        return children(element, tag).stream()
+                                     .findFirst();
+    }
+
+    /**
+     * Obtains the direct child elements with the given tag, or all of them if the tag is
+     * {@code null}.
+     */
+    private static ImmutableSet<Element> children(Element element, @Nullable String tag) {
+        ImmutableSet.Builder<Element> result = ImmutableSet.builder();
+        NodeList nodes = element.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node instanceof Element) {
+                Element child = (Element) node;
+                if (tag == null || tag.equals(child.getTagName())) {
+                    result.add(child);
+                }
+            }
+        }
+        return result.build();
+    }
+
+    private static Document parse(File pom) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return builder.parse(pom);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new GradleException(format("Unable to parse POM file `%s`.", pom), e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import io.spine.logging.Logging;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A task which copies the artifacts the {@link BootstrapPlugin} may add to a project, along with
+ * their dependencies, into a local Maven repository.
+ *
+ * <p>The populated repository may be used as the {@linkplain SpineRepositories#MIRROR_PROPERTY
+ * mirror} on machines with no network access.
+ *
+ * <p>Along with the resolved artifacts, the task copies their POM files, including the parent
+ * POMs and the imported BOMs.
+ *
+ * <p>The task resolves the artifacts from the repositories of the project, and thus should be
+ * executed with the network access and without the mirror mode enabled. The resolved files are
+ * the inputs of the task, so the task does not access the project when it is executed.
+ */
+public abstract class PopulateMirrorTask extends DefaultTask implements Logging {
+
+    /**
+     * The name of the task.
+     */
+    static final String NAME = "populateSpineMirror";
+
+    /**
+     * The notations of the artifacts to copy along with their dependencies.
+     */
+    @Input
+    public abstract ListProperty<String> getArtifacts();
+
+    /**
+     * The {@linkplain MirrorContents files} to copy by their paths within the mirror.
+     *
+     * <p>The files are tracked as the {@linkplain #getFiles() inputs} of the task.
+     */
+    @Internal
+    public abstract MapProperty<String, File> getContents();
+
+    /**
+     * The files to copy.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getFiles();
+
+    /**
+     * The root directory of the mirror repository.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getMirrorDir();
+
+    @TaskAction
+    void populate() {
+        Path mirror = getMirrorDir().get()
+                                    .getAsFile()
+                                    .toPath();
+        Map<String, File> contents = getContents().get();
+        contents.forEach((path, file) -> copy(file, mirror.resolve(path)));
+        _info().log("Copied %d files to `%s`.", contents.size(), mirror);
+    }
+
+    private static void copy(File source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(source.toPath(), target, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to copy `%s` to `%s`.", source, target), e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableSet;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.gradle.api.tasks.PathSensitivity.NAME_ONLY;
+
+/**
+ * A task which resolves all the artifacts the {@link BootstrapPlugin} may add to a project.
+ *
+ * <p>The artifacts of the resolvable configurations touched by the plugin are declared as
+ * the task inputs. Gradle resolves them before the task is executed, downloading the artifacts of
+ * each configuration in parallel. Running the task in all the projects of a build with
+ * {@code --parallel} warms the dependency cache, e.g. in a Docker image layer, before the actual
+ * build.
+ *
+ * <p>Only the artifacts of the external modules are prefetched. The artifacts of the other
+ * projects of the build are skipped, so that running the task does not build those projects.
+ *
+ * <p>The task writes a manifest with the sorted file names of the resolved artifacts. The task is
+ * not cacheable, as loading the manifest from the build cache would skip the downloads.
+ */
+public abstract class PrefetchTask extends DefaultTask {
+
+    /**
+     * The name of the task.
+     */
+    static final String NAME = "spinePrefetch";
+
+    /**
+     * The names of the resolvable configurations to which the plugin may add dependencies.
+     */
+    private static final ImmutableSet<String> CONFIGURATIONS = ImmutableSet.of(
+            "compileClasspath",
+            "runtimeClasspath",
+            "testCompileClasspath",
+            "testRuntimeClasspath",
+            "protobuf",
+            "testProtobuf",
+            "compileProtoPath",
+            "testCompileProtoPath"
+    );
+
+    /**
+     * The prefix of the configurations created by the Protobuf plugin for the {@code protoc}
+     * executable and its plugins.
+     */
+    private static final String TOOLS_LOCATOR_PREFIX = "protobufToolsLocator_";
+
+    /**
+     * The artifacts to resolve.
+     */
+    @InputFiles
+    @PathSensitive(NAME_ONLY)
+    public abstract ConfigurableFileCollection getArtifacts();
+
+    /**
+     * The file listing the resolved artifacts.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getManifest();
+
+    @TaskAction
+    void writeManifest() {
+        List<String> names = getArtifacts().getFiles()
+                                           .stream()
+                                           .map(File::getName)
+                                           .sorted()
+                                           .collect(toList());
+        File manifest = getManifest().getAsFile()
+                                     .get();
+        try {
+            Files.write(manifest.toPath(), names, UTF_8);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write `%s`.", manifest), e);
+        }
+    }
+
+    /**
+     * Obtains the artifacts of the external modules in the given configuration.
+     */
+    static FileCollection externalArtifacts(Configuration configuration) {
+        return configuration.getIncoming()
+                            .artifactView(view -> view.componentFilter(
+                                    id -> id instanceof ModuleComponentIdentifier
+                            ))
+                            .getFiles();
+    }
+
+    /**
+     * Selects the configurations which should be prefetched.
+     */
+    static final class PrefetchedConfigurations implements Spec<Configuration> {
+
+        @Override
+        public boolean isSatisfiedBy(Configuration configuration) {
+            String name = configuration.getName();
+            boolean prefetched = CONFIGURATIONS.contains(name)
+                    || name.startsWith(TOOLS_LOCATOR_PREFIX);
+            return prefetched && configuration.isCanBeResolved();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The time spent by the plugin on the configuration of a single project.
+ *
+ * <p>The time is measured by named phases. Phases may be nested, e.g. the repositories are
+ * prepared while the plugin is applied. The duration of a phase includes the durations of
+ * the nested phases. The total time of the project is the sum of the outermost phases.
+ *
+ * <p>The configuration of a project is performed in a single thread, so the timings are not
+ * thread-safe.
+ */
+final class ProjectTimings {
+
+    private static final ProjectTimings DISABLED = new ProjectTimings("", false);
+
+    private final String projectPath;
+    private final boolean enabled;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long total;
+    private int depth;
+
+    private ProjectTimings(String projectPath, boolean enabled) {
+        this.projectPath = projectPath;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Creates the timings of the project with the given path.
+     */
+    static ProjectTimings of(String projectPath) {
+        checkNotNull(projectPath);
+        return new ProjectTimings(projectPath, true);
+    }
+
+    /**
+     * Obtains the timings which do not measure anything.
+     */
+    static ProjectTimings disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Performs the given configuration step and records its duration.
+     */
+    void measure(String phase, Runnable step) {
+        measure(phase, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Performs the given configuration step and records its duration.
+     *
+     * @return the result of the step
+     */
+    <T> T measure(String phase, Supplier<T> step) {
+        checkNotNull(phase);
+        checkNotNull(step);
+        if (!enabled) {
+            return step.get();
+        }
+        long start = System.nanoTime();
+        depth++;
+        try {
+            return step.get();
+        } finally {
+            depth--;
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    @VisibleForTesting
+    void record(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+        if (depth == 0) {
+            total += nanos;
+        }
+    }
+
+    /**
+     * Composes the summary of the given timings.
+     *
+     * <p>The projects are sorted from the slowest to the fastest. The phases of each project are
+     * sorted the same way.
+     */
+    static String summary(Collection<ProjectTimings> projects) {
+        checkNotNull(projects);
+        ImmutableList<ProjectTimings> sorted = projects
+                .stream()
+                .sorted(Comparator.comparingLong((ProjectTimings timings) -> timings.total)
+                                  .reversed()
+                                  .thenComparing(timings -> timings.projectPath))
+                .collect(ImmutableList.toImmutableList());
+        StringBuilder summary = new StringBuilder(
+                format("Spine configuration time of %d projects:", sorted.size())
+        );
+        for (ProjectTimings project : sorted) {
+            summary.append(System.lineSeparator())
+                   .append(format("  %-40s %6d ms  (%s)",
+                                  project.projectPath, millis(project.total), project.phases()));
+        }
+        return summary.toString();
+    }
+
+    private String phases() {
+        return phases.entrySet()
+                     .stream()
+                     .sorted(Map.Entry.<String, Long>comparingByValue()
+                                     .reversed())
+                     .map(phase -> phase.getKey() + ' ' + millis(phase.getValue()) + " ms")
+                     .collect(joining(", "));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
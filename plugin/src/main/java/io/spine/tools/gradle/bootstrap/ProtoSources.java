@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.tools.gradle.config.BuildProperties;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * Detects the projects which have no Protobuf definitions.
+ *
+ * <p>If the {@value #PROPERTY} Gradle property is set to {@code true}, the projects which
+ * contain no {@code .proto} files are not configured for the code generation. The Protobuf
+ * plugin, the Model Compiler, and the code generation dependencies are not added to such
+ * projects.
+ *
+ * <p>The Protobuf definitions are looked up in the conventional {@code src/<source set>/proto}
+ * directories of the project. The lookup is a {@linkplain Lookup value source}, so that
+ * the configuration cache is invalidated once the result of the lookup changes.
+ */
+final class ProtoSources {
+
+    /**
+     * The name of the Gradle property which enables skipping the code generation in
+     * the projects without Protobuf definitions.
+     */
+    static final String PROPERTY = "spine.codegen.skipWithoutProto";
+
+    private static final String SOURCE_DIR = "src";
+    private static final String PROTO_DIR = "proto";
+    private static final String PROTO_EXTENSION = ".proto";
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ProtoSources() {
+    }
+
+    /**
+     * Tells if the code generation should be skipped in the given project.
+     *
+     * <p>Returns {@code true} only if the {@value #PROPERTY} property is set to {@code true}
+     * and the project contains no {@code .proto} files.
+     */
+    static boolean skipCodegen(Project project) {
+        checkNotNull(project);
+        boolean enabled = BuildProperties.of(project)
+                                         .isEnabled(PROPERTY);
+        if (!enabled) {
+            return false;
+        }
+        boolean present = project.getProviders()
+                                 .of(Lookup.class, spec -> spec.getParameters()
+                                                               .getProjectDir()
+                                                               .set(project.getLayout()
+                                                                           .getProjectDirectory()))
+                                 .forUseAtConfigurationTime()
+                                 .get();
+        return !present;
+    }
+
+    /**
+     * Tells if there are {@code .proto} files in the {@code src/<source set>/proto} directories
+     * under the given project directory.
+     *
+     * <p>The lookup stops at the first found file.
+     */
+    @VisibleForTesting
+    static boolean presentIn(File projectDir) {
+        checkNotNull(projectDir);
+        File[] sourceSets = new File(projectDir, SOURCE_DIR).listFiles(File::isDirectory);
+        if (sourceSets == null) {
+            return false;
+        }
+        for (File sourceSet : sourceSets) {
+            Path protoDir = new File(sourceSet, PROTO_DIR).toPath();
+            if (Files.isDirectory(protoDir) && containsProto(protoDir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsProto(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.anyMatch(file -> file.getFileName()
+                                              .toString()
+                                              .endsWith(PROTO_EXTENSION)
+                    && Files.isRegularFile(file));
+        } catch (IOException | UncheckedIOException e) {
+            throw new GradleException(format("Unable to look up `.proto` files in `%s`.", dir), e);
+        }
+    }
+
+    /**
+     * Tells if there are {@code .proto} files in a project.
+     *
+     * <p>When the configuration cache is enabled, Gradle obtains the value again before
+     * reusing the cached configuration, and discards the cache if the value changes, e.g. when
+     * the first {@code .proto} file is added to the project.
+     *
+     * <p>The class is public and abstract, so that Gradle is able to instantiate it.
+     */
+    public abstract static class Lookup implements ValueSource<Boolean, Lookup.Parameters> {
+
+        @Override
+        public Boolean obtain() {
+            File projectDir = getParameters().getProjectDir()
+                                             .get()
+                                             .getAsFile();
+            return presentIn(projectDir);
+        }
+
+        /**
+         * The parameters of the lookup.
+         */
+        public interface Parameters extends ValueSourceParameters {
+
+            /**
+             * The directory of the project.
+             */
+            DirectoryProperty getProjectDir();
+        }
+    }
+}
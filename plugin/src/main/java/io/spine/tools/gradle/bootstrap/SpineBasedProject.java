@@ -26,19 +26,14 @@
 
 package io.spine.tools.gradle.bootstrap;
 
-import io.spine.net.Url;
 import io.spine.tools.gradle.Artifact;
 import io.spine.tools.gradle.ConfigurationName;
 import io.spine.tools.gradle.Dependency;
 import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.config.BuildProperties;
 import io.spine.tools.gradle.project.Dependant;
 import io.spine.tools.gradle.project.DependantProject;
-import org.checkerframework.checker.regex.qual.Regex;
 import org.gradle.api.Project;
-import org.gradle.api.artifacts.dsl.RepositoryHandler;
-import org.gradle.api.artifacts.repositories.MavenRepositoryContentDescriptor;
-
-import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -47,8 +42,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 final class SpineBasedProject implements Dependant {
 
-    private static final @Regex String SPINE_GROUP_PATTERN = "io\\.spine\\b.*";
-
     private final Dependant dependencies;
     private final Project project;
 
@@ -99,30 +92,18 @@ final class SpineBasedProject implements Dependant {
     /**
      * Sets up Maven repositories required by Spine.
      *
-     * <p>Adds the following repositories:
-     * <ol>
-     *     <li>Spine releases repository for Spine artifacts;
-     *     <li>Spine snapshots repository for Spine artifacts;
-     *     <li>JCenter repository for third-party artifacts.
-     * </ol>
+     * <p>If the {@link BootstrapSettingsPlugin} is applied to the build, the repositories are
+     * already configured for all the projects, and this method performs no action.
+     *
+     * @see SpineRepositories
      */
     void prepareRepositories(ArtifactSnapshot artifacts) {
-        RepositoryHandler repositories = project.getRepositories();
-        addSpineRepository(artifacts.spineRepository(),
-                           MavenRepositoryContentDescriptor::releasesOnly);
-        addSpineRepository(artifacts.spineSnapshotRepository(),
-                           MavenRepositoryContentDescriptor::snapshotsOnly);
-        repositories.jcenter();
-    }
-
-    @SuppressWarnings("UnstableApiUsage")
-        // Usage of the advanced repository configuration API.
-    private void addSpineRepository(Url repositoryUrl,
-                                    Consumer<MavenRepositoryContentDescriptor> contentConfig) {
-        project.getRepositories().maven(repo -> {
-            repo.setUrl(repositoryUrl.getSpec());
-            repo.mavenContent(contentConfig::accept);
-            repo.content(descriptor -> descriptor.includeGroupByRegex(SPINE_GROUP_PATTERN));
-        });
+        if (BootstrapSettingsPlugin.isAppliedTo(project.getGradle())) {
+            return;
+        }
+        SpineRepositories.addTo(project.getRepositories(),
+                                artifacts,
+                                BuildProperties.of(project),
+                                project.getRootDir());
     }
 }
@@ -27,8 +27,6 @@
 package io.spine.tools.gradle.bootstrap;
 
 import com.google.protobuf.gradle.ProtobufPlugin;
-import io.spine.dart.gradle.ProtoDartPlugin;
-import io.spine.js.gradle.ProtoJsPlugin;
 import io.spine.tools.gradle.GradlePlugin;
 import io.spine.tools.gradle.PluginScript;
 import io.spine.tools.gradle.compiler.ModelCompilerPlugin;
@@ -46,8 +44,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * A {@link PluginTarget} which applies Spine Gradle plugins.
  *
- * <p>Provides convenience methods for the Model Compiler plugin, Proto JS plugin, and the Protobuf
- * Gradle plugin.
+ * <p>Provides convenience methods for the Model Compiler plugin and the Protobuf Gradle plugin.
+ * The plugins which generate code in other languages are applied by the extensions of those
+ * languages, so that their classes are only loaded if the language is enabled.
  */
 public final class SpinePluginTarget implements PluginTarget {
 
@@ -104,22 +103,6 @@ public final class SpinePluginTarget implements PluginTarget {
         apply(plugin);
     }
 
-    /**
-     * Applies the {@link ProtoJsPlugin}.
-     */
-    public void applyProtoJsPlugin() {
-        GradlePlugin<?> plugin = GradlePlugin.implementedIn(ProtoJsPlugin.class);
-        apply(plugin);
-    }
-
-    /**
-     * Applies the {@link ProtoDartPlugin}.
-     */
-    public void applyProtoDartPlugin() {
-        GradlePlugin<?> plugin = GradlePlugin.implementedIn(ProtoDartPlugin.class);
-        apply(plugin);
-    }
-
     /**
      * Checks if the {@code idea} plugin is applied to this project.
      */
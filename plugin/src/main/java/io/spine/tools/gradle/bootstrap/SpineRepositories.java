@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.net.Url;
+import io.spine.tools.gradle.config.ArtifactSnapshot;
+import io.spine.tools.gradle.config.BuildProperties;
+import org.checkerframework.checker.regex.qual.Regex;
+import org.gradle.api.artifacts.dsl.RepositoryHandler;
+import org.gradle.api.artifacts.repositories.ArtifactRepository;
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.artifacts.repositories.MavenRepositoryContentDescriptor;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The Maven repositories required by Spine-based projects.
+ *
+ * <p>The repositories are added either to each project by the {@link BootstrapPlugin}, or once
+ * for the whole build by the {@link BootstrapSettingsPlugin}.
+ *
+ * <p>If the {@value #MIRROR_PROPERTY} Gradle property is set, all the repositories are replaced
+ * with a single mirror repository. The property value is either a URL of a proxy repository or
+ * a path to a local Maven repository. A relative path is resolved against the root directory of
+ * the build. A local mirror may be populated with the {@link PopulateMirrorTask}.
+ */
+final class SpineRepositories {
+
+    /**
+     * The name of the Gradle property which specifies the location of a mirror repository.
+     */
+    static final String MIRROR_PROPERTY = "spine.repositories.mirror";
+
+    private static final String MIRROR_NAME = "spineMirror";
+    private static final String URL_SCHEME_SEPARATOR = "://";
+    private static final @Regex String SPINE_GROUP_PATTERN = "io\\.spine\\b.*";
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private SpineRepositories() {
+    }
+
+    /**
+     * Adds the repositories required by Spine to the given handler, or the mirror repository
+     * if the {@value #MIRROR_PROPERTY} property is set.
+     *
+     * @param repositories
+     *         the handler to add the repositories to
+     * @param artifacts
+     *         the snapshot of the Spine artifacts
+     * @param properties
+     *         the Gradle properties of the build
+     * @param rootDir
+     *         the root directory of the build
+     */
+    static void addTo(RepositoryHandler repositories,
+                      ArtifactSnapshot artifacts,
+                      BuildProperties properties,
+                      File rootDir) {
+        Optional<URI> mirror = mirror(properties, rootDir);
+        if (mirror.isPresent()) {
+            addMirror(repositories, mirror.get());
+        } else {
+            addTo(repositories, artifacts);
+        }
+    }
+
+    /**
+     * Obtains the location of the mirror repository if the {@value #MIRROR_PROPERTY} property
+     * is set.
+     */
+    static Optional<URI> mirror(BuildProperties properties, File rootDir) {
+        checkNotNull(properties);
+        checkNotNull(rootDir);
+        return properties.find(MIRROR_PROPERTY)
+                         .map(String::trim)
+                         .filter(value -> !value.isEmpty())
+                         .map(value -> mirrorLocation(value, rootDir));
+    }
+
+    /**
+     * Converts the value of the {@value #MIRROR_PROPERTY} property into a repository location.
+     */
+    @VisibleForTesting
+    static URI mirrorLocation(String value, File rootDir) {
+        if (value.contains(URL_SCHEME_SEPARATOR)) {
+            return URI.create(value);
+        }
+        File file = new File(value);
+        File location = file.isAbsolute() ? file : new File(rootDir, value);
+        return location.toURI();
+    }
+
+    /**
+     * Adds the mirror repository which serves all the artifacts.
+     */
+    @VisibleForTesting
+    static void addMirror(RepositoryHandler repositories, URI location) {
+        checkNotNull(repositories);
+        checkNotNull(location);
+        repositories.maven(repo -> {
+            repo.setName(MIRROR_NAME);
+            repo.setUrl(location);
+        });
+    }
+
+    /**
+     * Adds the repositories required by Spine to the given handler.
+     *
+     * <p>Adds the following repositories:
+     * <ol>
+     *     <li>Spine releases repository for Spine artifacts;
+     *     <li>Spine snapshots repository for Spine artifacts;
+     *     <li>JCenter repository for third-party artifacts.
+     * </ol>
+     *
+     * <p>The Spine repositories are declared as the exclusive source of the Spine artifacts.
+     * Thus, the Spine artifacts are never looked up in JCenter, and the third-party artifacts
+     * are never looked up in the Spine repositories.
+     */
+    static void addTo(RepositoryHandler repositories, ArtifactSnapshot artifacts) {
+        addTo(repositories, artifacts, RepositoryHandler::jcenter);
+    }
+
+    /**
+     * Adds the repositories required by Spine to the given handler using the given repository
+     * for the third-party artifacts.
+     */
+    @VisibleForTesting
+    static void addTo(RepositoryHandler repositories,
+                      ArtifactSnapshot artifacts,
+                      Function<RepositoryHandler, ? extends ArtifactRepository> thirdParty) {
+        checkNotNull(repositories);
+        checkNotNull(artifacts);
+        checkNotNull(thirdParty);
+        MavenArtifactRepository releases =
+                addSpineRepository(repositories,
+                                   artifacts.spineRepository(),
+                                   MavenRepositoryContentDescriptor::releasesOnly);
+        MavenArtifactRepository snapshots =
+                addSpineRepository(repositories,
+                                   artifacts.spineSnapshotRepository(),
+                                   MavenRepositoryContentDescriptor::snapshotsOnly);
+        repositories.exclusiveContent(exclusive -> exclusive
+                .forRepositories(releases, snapshots)
+                .filter(descriptor -> descriptor.includeGroupByRegex(SPINE_GROUP_PATTERN)));
+        thirdParty.apply(repositories);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+        // Usage of the advanced repository configuration API.
+    private static MavenArtifactRepository
+    addSpineRepository(RepositoryHandler repositories,
+                       Url repositoryUrl,
+                       Consumer<MavenRepositoryContentDescriptor> contentConfig) {
+        return repositories.maven(repo -> {
+            repo.setUrl(repositoryUrl.getSpec());
+            repo.mavenContent(contentConfig::accept);
+        });
+    }
+}
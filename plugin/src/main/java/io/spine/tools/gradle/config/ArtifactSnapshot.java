@@ -26,6 +26,7 @@
 
 package io.spine.tools.gradle.config;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import io.spine.io.Resource;
 import io.spine.net.Url;
@@ -86,7 +87,8 @@ public final class ArtifactSnapshot {
      *
      * @return loaded {@code ArtifactSnapshot}
      */
-    private static ArtifactSnapshot load() {
+    @VisibleForTesting
+    static ArtifactSnapshot load() {
         Resource file = Resource.file(
                 "artifact-snapshot.properties", ArtifactSnapshot.class.getClassLoader()
         );
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.config;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Project;
+import org.gradle.api.initialization.Settings;
+import org.gradle.api.plugins.ExtraPropertiesExtension;
+import org.gradle.api.provider.ProviderFactory;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The Gradle properties of a build.
+ *
+ * <p>The properties are read through {@link ProviderFactory#gradleProperty(String)}, so that
+ * the configuration cache tracks their values.
+ *
+ * <p>The {@code ProjectBuilder} of Gradle 6.x does not load the Gradle properties, and
+ * the providers fail with an {@code IllegalStateException} when queried. In this case,
+ * the properties are looked up among the properties of the project or the settings instead.
+ * Thus, the plugin can be applied to the projects created by the {@code ProjectBuilder}, and
+ * the properties can be set on such projects as extra properties.
+ */
+public final class BuildProperties {
+
+    private final ProviderFactory providers;
+    private final Function<String, @Nullable Object> fallback;
+
+    private BuildProperties(ProviderFactory providers,
+                            Function<String, @Nullable Object> fallback) {
+        this.providers = providers;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Obtains the Gradle properties of the build of the given project.
+     */
+    public static BuildProperties of(Project project) {
+        checkNotNull(project);
+        return new BuildProperties(project.getProviders(), project::findProperty);
+    }
+
+    /**
+     * Obtains the Gradle properties of the build with the given settings.
+     */
+    public static BuildProperties of(Settings settings) {
+        checkNotNull(settings);
+        ExtraPropertiesExtension extra = settings.getExtensions()
+                                                 .getExtraProperties();
+        return new BuildProperties(settings.getProviders(),
+                                   name -> extra.has(name) ? extra.get(name) : null);
+    }
+
+    /**
+     * Obtains the value of the property with the given name.
+     *
+     * @return the value of the property or {@code Optional.empty()} if the property is not set
+     */
+    public Optional<String> find(String name) {
+        checkNotNull(name);
+        try {
+            String value = providers.gradleProperty(name)
+                                    .forUseAtConfigurationTime()
+                                    .getOrNull();
+            return Optional.ofNullable(value);
+        } catch (IllegalStateException e) {
+            Object value = fallback.apply(name);
+            return Optional.ofNullable(value)
+                           .map(String::valueOf);
+        }
+    }
+
+    /**
+     * Checks if the property with the given name is set to {@code true}.
+     */
+    public boolean isEnabled(String name) {
+        return find(name).map(Boolean::parseBoolean)
+                         .orElse(false);
+    }
+}
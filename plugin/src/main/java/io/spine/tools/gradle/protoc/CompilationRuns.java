@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import io.spine.tools.gradle.protoc.IncrementalCompilation.Run;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A build service which keeps the state of the running {@linkplain IncrementalCompilation
+ * incremental} {@code protoc} tasks.
+ *
+ * <p>The state of a task is kept from the moment the proto files to compile are selected until
+ * the compilation is recorded. Outside of this period, the task compiles all of its files. This
+ * way, Gradle observes all the proto files when it fingerprints the inputs of the task.
+ */
+public abstract class CompilationRuns implements BuildService<BuildServiceParameters.None> {
+
+    private static final String NAME = "spineProtocRuns";
+
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Obtains the service registered in the given build, registering it if necessary.
+     */
+    static Provider<CompilationRuns> of(Gradle gradle) {
+        checkNotNull(gradle);
+        return gradle.getSharedServices()
+                     .registerIfAbsent(NAME, CompilationRuns.class, spec -> {});
+    }
+
+    /**
+     * Remembers the run of the task with the given path.
+     */
+    void start(String taskPath, Run run) {
+        checkNotNull(taskPath);
+        checkNotNull(run);
+        runs.put(taskPath, run);
+    }
+
+    /**
+     * Forgets the run of the task with the given path.
+     *
+     * @return the run or empty {@code Optional} if the task has not selected the files to compile
+     */
+    Optional<Run> finish(String taskPath) {
+        checkNotNull(taskPath);
+        return Optional.ofNullable(runs.remove(taskPath));
+    }
+
+    /**
+     * Tells if the task with the given path should compile the given proto file.
+     */
+    boolean compiles(String taskPath, File file) {
+        Run run = runs.get(taskPath);
+        return run == null || run.includes(file);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import org.gradle.api.GradleException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The state of the Protobuf definitions after the last run of a {@code protoc} task.
+ *
+ * <p>The state consists of:
+ * <ul>
+ *     <li>the fingerprint of the compiler, its plugins and their options;
+ *     <li>the hash of each compiled file, by the name of the file used in imports;
+ *     <li>the proto file from which each generated file originates, if it is known.
+ * </ul>
+ */
+final class CompilationState {
+
+    private static final String TOOLCHAIN = "toolchain";
+    private static final String SOURCE = "source";
+    private static final String OUTPUT = "output";
+    private static final char SEPARATOR = '\t';
+
+    private final String toolchain;
+    private final ImmutableMap<String, String> sources;
+    private final ImmutableMap<String, String> outputs;
+
+    /**
+     * Creates a new state.
+     *
+     * @param toolchain
+     *         the fingerprint of the compiler and its plugins
+     * @param sources
+     *         the hashes of the proto files by their names
+     * @param outputs
+     *         the names of the proto files by the paths of the generated files
+     */
+    CompilationState(String toolchain, Map<String, String> sources, Map<String, String> outputs) {
+        this.toolchain = checkNotNull(toolchain);
+        this.sources = ImmutableMap.copyOf(sources);
+        this.outputs = ImmutableMap.copyOf(outputs);
+    }
+
+    /**
+     * Reads the state from the given file.
+     *
+     * @return the state or empty {@code Optional} if the file does not exist or cannot be
+     *         parsed
+     */
+    static Optional<CompilationState> read(File file) {
+        checkNotNull(file);
+        if (!file.isFile()) {
+            return Optional.empty();
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), UTF_8);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        String toolchain = null;
+        Map<String, String> sources = new HashMap<>();
+        Map<String, String> outputs = new HashMap<>();
+        Splitter splitter = Splitter.on(SEPARATOR);
+        for (String line : lines) {
+            List<String> parts = splitter.splitToList(line);
+            String kind = parts.get(0);
+            if (TOOLCHAIN.equals(kind) && parts.size() == 2) {
+                toolchain = parts.get(1);
+            } else if (SOURCE.equals(kind) && parts.size() == 3) {
+                sources.put(parts.get(1), parts.get(2));
+            } else if (OUTPUT.equals(kind) && parts.size() == 3) {
+                outputs.put(parts.get(1), parts.get(2));
+            } else {
+                return Optional.empty();
+            }
+        }
+        return toolchain == null
+               ? Optional.empty()
+               : Optional.of(new CompilationState(toolchain, sources, outputs));
+    }
+
+    /**
+     * Writes the state to the given file.
+     */
+    void write(File file) {
+        checkNotNull(file);
+        List<String> lines = new ArrayList<>();
+        lines.add(TOOLCHAIN + SEPARATOR + toolchain);
+        sources.forEach((name, hash) -> lines.add(SOURCE + SEPARATOR + name + SEPARATOR + hash));
+        outputs.forEach((path, name) -> lines.add(OUTPUT + SEPARATOR + path + SEPARATOR + name));
+        try {
+            Files.createDirectories(file.toPath()
+                                        .getParent());
+            Files.write(file.toPath(), lines, UTF_8);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write `%s`.", file), e);
+        }
+    }
+
+    /**
+     * Determines the proto files to compile in order to bring the generated code up to date.
+     *
+     * <p>The affected files are the new and the modified files, along with all the files which
+     * import them directly or transitively.
+     *
+     * <p>The files cannot be compiled incrementally if the toolchain has changed, some files
+     * were deleted, none of the files were changed, or all of them are affected.
+     *
+     * @param toolchain
+     *         the current fingerprint of the compiler and its plugins
+     * @param current
+     *         the current hashes of the proto files by their names
+     * @param imports
+     *         the names of the files imported by each file as of the last run
+     * @return the names of the affected files, or empty {@code Optional} if all the files should
+     *         be compiled
+     */
+    Optional<ImmutableSet<String>> affected(String toolchain,
+                                            Map<String, String> current,
+                                            SetMultimap<String, String> imports) {
+        checkNotNull(toolchain);
+        checkNotNull(current);
+        checkNotNull(imports);
+        if (!this.toolchain.equals(toolchain) || !current.keySet()
+                                                         .containsAll(sources.keySet())) {
+            return Optional.empty();
+        }
+        Deque<String> queue = new ArrayDeque<>();
+        current.forEach((name, hash) -> {
+            if (!hash.equals(sources.get(name))) {
+                queue.add(name);
+            }
+        });
+        ImmutableSetMultimap<String, String> importedBy =
+                ImmutableSetMultimap.copyOf(imports)
+                                    .inverse();
+        Set<String> affected = new HashSet<>();
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            if (current.containsKey(name) && affected.add(name)) {
+                queue.addAll(importedBy.get(name));
+            }
+        }
+        if (affected.isEmpty() || affected.size() == current.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(ImmutableSet.copyOf(affected));
+    }
+
+    /**
+     * Obtains the paths of the files generated from the given proto files.
+     */
+    ImmutableSet<String> outputsOf(Set<String> names) {
+        checkNotNull(names);
+        return outputs.entrySet()
+                      .stream()
+                      .filter(output -> names.contains(output.getValue()))
+                      .map(Map.Entry::getKey)
+                      .collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * Creates the state after the given proto files are recompiled.
+     *
+     * @param current
+     *         the current hashes of the proto files by their names
+     * @param recompiled
+     *         the names of the recompiled files
+     * @param generated
+     *         the names of the proto files by the paths of the files generated by the compilation
+     */
+    CompilationState update(Map<String, String> current,
+                            Set<String> recompiled,
+                            Map<String, String> generated) {
+        checkNotNull(current);
+        checkNotNull(recompiled);
+        checkNotNull(generated);
+        Map<String, String> newOutputs = new HashMap<>();
+        outputs.forEach((path, name) -> {
+            if (!recompiled.contains(name)) {
+                newOutputs.put(path, name);
+            }
+        });
+        newOutputs.putAll(generated);
+        return new CompilationState(toolchain, current, newOutputs);
+    }
+}
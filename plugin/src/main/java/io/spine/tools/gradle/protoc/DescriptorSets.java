@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import org.gradle.api.GradleException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * Utilities for working with the descriptor set files generated by {@code protoc}.
+ */
+final class DescriptorSets {
+
+    private static final String GRPC_STUB_SUFFIX = "Grpc.java";
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private DescriptorSets() {
+    }
+
+    /**
+     * Reads the names of the files imported by each file of the given descriptor set.
+     */
+    static ImmutableSetMultimap<String, String> imports(File descriptorSet) {
+        checkNotNull(descriptorSet);
+        ImmutableSetMultimap.Builder<String, String> imports = ImmutableSetMultimap.builder();
+        for (FileDescriptorProto file : read(descriptorSet).getFileList()) {
+            imports.putAll(file.getName(), file.getDependencyList());
+        }
+        return imports.build();
+    }
+
+    /**
+     * Composes the paths of the gRPC stubs generated from the files of the given descriptor set.
+     *
+     * <p>The gRPC generator does not put the {@code source:} header into the generated files.
+     * Instead, it generates a {@code <Service>Grpc.java} file for each service, placed into
+     * the directory of the Java package of the proto file.
+     *
+     * @return the names of the proto files by the paths of the stubs relative to the output
+     *         directory of the gRPC generator
+     */
+    static ImmutableMap<String, String> grpcStubs(File descriptorSet) {
+        checkNotNull(descriptorSet);
+        Map<String, String> stubs = new HashMap<>();
+        for (FileDescriptorProto file : read(descriptorSet).getFileList()) {
+            String javaPackage = file.getOptions()
+                                     .hasJavaPackage()
+                                 ? file.getOptions()
+                                       .getJavaPackage()
+                                 : file.getPackage();
+            String directory = javaPackage.isEmpty()
+                               ? ""
+                               : javaPackage.replace('.', '/') + '/';
+            for (ServiceDescriptorProto service : file.getServiceList()) {
+                stubs.put(directory + service.getName() + GRPC_STUB_SUFFIX, file.getName());
+            }
+        }
+        return ImmutableMap.copyOf(stubs);
+    }
+
+    /**
+     * Merges the files of the given descriptor set into the previous version of the set.
+     *
+     * <p>The files of the update replace the previous files with the same names. The files of
+     * the merged set are ordered so that each file follows the files it imports, as if
+     * the set was generated by {@code protoc} at once.
+     *
+     * @param previous
+     *         the descriptor set to merge the update into
+     * @param update
+     *         the descriptor set to merge; receives the result of the merge
+     */
+    static void merge(File previous, File update) {
+        checkNotNull(previous);
+        checkNotNull(update);
+        Map<String, FileDescriptorProto> files = new LinkedHashMap<>();
+        for (FileDescriptorProto file : read(previous).getFileList()) {
+            files.put(file.getName(), file);
+        }
+        for (FileDescriptorProto file : read(update).getFileList()) {
+            files.put(file.getName(), file);
+        }
+        FileDescriptorSet.Builder merged = FileDescriptorSet.newBuilder();
+        Set<String> visited = new HashSet<>();
+        for (String name : files.keySet()) {
+            addWithImports(name, files, visited, merged);
+        }
+        write(merged.build(), update);
+    }
+
+    private static void addWithImports(String name,
+                                       Map<String, FileDescriptorProto> files,
+                                       Set<String> visited,
+                                       FileDescriptorSet.Builder target) {
+        FileDescriptorProto file = files.get(name);
+        if (file == null || !visited.add(name)) {
+            return;
+        }
+        for (String dependency : file.getDependencyList()) {
+            addWithImports(dependency, files, visited, target);
+        }
+        target.addFile(file);
+    }
+
+    private static FileDescriptorSet read(File file) {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return FileDescriptorSet.parseFrom(stream);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to read the descriptor set `%s`.", file), e);
+        }
+    }
+
+    private static void write(FileDescriptorSet descriptors, File file) {
+        try (OutputStream stream = Files.newOutputStream(file.toPath())) {
+            descriptors.writeTo(stream);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write the descriptor set `%s`.", file), e);
+        }
+    }
+}
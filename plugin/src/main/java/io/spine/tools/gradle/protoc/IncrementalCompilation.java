@@ -0,0 +1,449 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.GenerateProtoTask.DescriptorSetOptions;
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.regex.Pattern.MULTILINE;
+
+/**
+ * Makes a {@code protoc} task compile only the changed proto files and the files which import
+ * them.
+ *
+ * <p>Before the compilation, the proto files are compared to the {@linkplain CompilationState
+ * state} recorded by the previous run of the task. The import graph is read from the descriptor
+ * set generated by the previous run. Only the affected files are passed to {@code protoc}, and
+ * the code generated from the rest of the files is left intact. The code previously generated
+ * from the affected files is deleted before the compilation, if its origin is known from
+ * the {@code source:} header which {@code protoc} generators put into the generated files, or,
+ * for the gRPC stubs, from the services declared in the descriptor set.
+ *
+ * <p>After the compilation, the descriptor set of the recompiled files is merged into
+ * the descriptor set of the previous run. This way, the tasks which consume the descriptor set
+ * still observe all the types.
+ *
+ * <p>All the files are compiled if there is no previous state, or if the compiler, its plugins
+ * or their options have changed, or if some proto files were deleted.
+ *
+ * <p>The files selected for the current run of the task are kept by
+ * the {@link CompilationRuns} service rather than by the task itself.
+ */
+final class IncrementalCompilation implements Spec<File> {
+
+    private static final String STATE_DIR = "spine/protoc-state";
+    private static final String STATE_FILE = "state.tsv";
+    private static final String DESCRIPTOR_SET_FILE = "descriptors.desc";
+    private static final String STATE_PROPERTY = "compilationState";
+
+    private static final Pattern SOURCE_HEADER =
+            Pattern.compile("^\\s*(?://|#)\\s*source:\\s*(\\S+)", MULTILINE);
+    private static final int HEADER_LENGTH = 1024;
+
+    private final String taskPath;
+    private final File stateDir;
+    private final Provider<CompilationRuns> runs;
+    private final Provider<String> generators;
+
+    private IncrementalCompilation(String taskPath,
+                                   File stateDir,
+                                   Provider<CompilationRuns> runs,
+                                   Provider<String> generators) {
+        this.taskPath = taskPath;
+        this.stateDir = stateDir;
+        this.runs = runs;
+        this.generators = generators;
+    }
+
+    /**
+     * Enables the incremental compilation for the given task.
+     *
+     * <p>The task is made to generate the descriptor set, since the import graph is read
+     * from it.
+     *
+     * <p>The built-ins and plugins of the task cannot be read once the Protobuf plugin finishes
+     * the configuration of the task. Their containers are captured when the incremental
+     * compilation is enabled and are read only after the configuration.
+     */
+    static void applyTo(GenerateProtoTask task) {
+        FileCollection sources = task.getSourceFiles();
+        if (!(sources instanceof ConfigurableFileCollection)) {
+            return;
+        }
+        ConfigurableFileCollection configurableSources = (ConfigurableFileCollection) sources;
+        Project project = task.getProject();
+        File stateDir = new File(project.getBuildDir(), STATE_DIR + '/' + task.getName());
+        Provider<CompilationRuns> runs = CompilationRuns.of(project.getGradle());
+        NamedDomainObjectContainer<PluginOptions> builtIns = task.getBuiltins();
+        NamedDomainObjectContainer<PluginOptions> plugins = task.getPlugins();
+        Provider<String> generators = project.provider(() -> generators(builtIns, plugins));
+        IncrementalCompilation compilation =
+                new IncrementalCompilation(task.getPath(), stateDir, runs, generators);
+        FileCollection allSources = project.files(configurableSources.getFrom()
+                                                                     .toArray());
+        configurableSources.setFrom(allSources.filter(compilation));
+        task.setGenerateDescriptorSet(true);
+        task.usesService(runs);
+        task.getOutputs()
+            .dir(stateDir)
+            .withPropertyName(STATE_PROPERTY);
+        task.doFirst(compilation.new SelectAffected());
+        task.doLast(compilation.new RecordState());
+    }
+
+    /**
+     * Tells if the given proto file should be compiled during the current run of the task.
+     */
+    @Override
+    public boolean isSatisfiedBy(File file) {
+        return runs.get()
+                   .compiles(taskPath, file);
+    }
+
+    private File stateFile() {
+        return new File(stateDir, STATE_FILE);
+    }
+
+    private File descriptorSetCopy() {
+        return new File(stateDir, DESCRIPTOR_SET_FILE);
+    }
+
+    /**
+     * Selects the proto files to compile before the task runs.
+     */
+    private final class SelectAffected implements Action<Task> {
+
+        @Override
+        public void execute(Task t) {
+            GenerateProtoTask task = (GenerateProtoTask) t;
+            CompilationRuns runs = IncrementalCompilation.this.runs.get();
+            runs.finish(taskPath);
+            long startedAt = System.currentTimeMillis();
+            Optional<Map<String, File>> sources = ProtoFiles.byName(task);
+            if (!sources.isPresent()) {
+                return;
+            }
+            Map<String, String> hashes = hashes(sources.get());
+            String toolchain = toolchain(task, generators.get());
+            Optional<CompilationState> previous = CompilationState.read(stateFile());
+            Optional<ImmutableSet<String>> affected = Optional.empty();
+            if (previous.isPresent() && descriptorSetCopy().isFile()) {
+                ImmutableSetMultimap<String, String> imports =
+                        DescriptorSets.imports(descriptorSetCopy());
+                affected = previous.get()
+                                   .affected(toolchain, hashes, imports);
+            }
+            Run newRun = new Run(toolchain, hashes, startedAt);
+            if (affected.isPresent()) {
+                ImmutableSet<String> names = affected.get();
+                File outputBaseDir = new File(task.getOutputBaseDir());
+                previous.get()
+                        .outputsOf(names)
+                        .forEach(path -> delete(new File(outputBaseDir, path)));
+                newRun.recompile(previous.get(), names, sources.get());
+                Logger logger = task.getLogger();
+                logger.info("Compiling {} of {} proto files incrementally.",
+                            names.size(), hashes.size());
+            }
+            runs.start(taskPath, newRun);
+        }
+    }
+
+    /**
+     * Records the state of the proto files after the task runs.
+     */
+    private final class RecordState implements Action<Task> {
+
+        @Override
+        public void execute(Task t) {
+            GenerateProtoTask task = (GenerateProtoTask) t;
+            Run completed = runs.get()
+                                .finish(taskPath)
+                                .orElse(null);
+            if (completed == null || !task.getGenerateDescriptorSet()) {
+                delete(stateFile());
+                return;
+            }
+            File descriptorSet = new File(task.getDescriptorPath());
+            File descriptorSetCopy = descriptorSetCopy();
+            if (completed.previous != null) {
+                DescriptorSets.merge(descriptorSetCopy, descriptorSet);
+            }
+            copy(descriptorSet, descriptorSetCopy);
+            ImmutableMap<String, String> grpcStubs = DescriptorSets.grpcStubs(descriptorSet);
+            Map<String, String> generated = generated(new File(task.getOutputBaseDir()),
+                                                      completed,
+                                                      grpcStubs);
+            CompilationState state = completed.previous != null
+                                     ? completed.previous.update(completed.hashes,
+                                                                 completed.recompiled,
+                                                                 generated)
+                                     : new CompilationState(completed.toolchain,
+                                                            completed.hashes,
+                                                            generated);
+            state.write(stateFile());
+        }
+    }
+
+    private static Map<String, String> hashes(Map<String, File> files) {
+        Map<String, String> hashes = new HashMap<>();
+        files.forEach((name, file) -> {
+            try {
+                byte[] content = Files.readAllBytes(file.toPath());
+                hashes.put(name, Hashing.sha256()
+                                        .hashBytes(content)
+                                        .toString());
+            } catch (IOException e) {
+                throw new GradleException(format("Unable to read `%s`.", file), e);
+            }
+        });
+        return hashes;
+    }
+
+    /**
+     * Computes the fingerprint of the compiler, its plugins and their options.
+     *
+     * @param task
+     *         the {@code protoc} task
+     * @param generators
+     *         the fingerprint of the built-ins and plugins of the task
+     */
+    private static String toolchain(GenerateProtoTask task, String generators) {
+        List<String> parts = new ArrayList<>();
+        parts.add(locator(task.getProtocLocator()
+                              .get()));
+        new TreeMap<>(task.getPluginsExecutableLocators()
+                          .get())
+                .forEach((name, locator) -> parts.add(name + '=' + locator(locator)));
+        parts.add(generators);
+        DescriptorSetOptions descriptorSet = task.getDescriptorSetOptions();
+        parts.add("descriptors:" + descriptorSet.getIncludeImports()
+                          + ':' + descriptorSet.getIncludeSourceInfo());
+        return Hashing.sha256()
+                      .hashString(String.join("\n", parts), UTF_8)
+                      .toString();
+    }
+
+    /**
+     * Computes the fingerprint of the given built-ins and plugins with their options.
+     */
+    private static String generators(Iterable<PluginOptions> builtIns,
+                                     Iterable<PluginOptions> plugins) {
+        List<String> parts = new ArrayList<>();
+        for (PluginOptions builtIn : builtIns) {
+            parts.add("builtin:" + options(builtIn));
+        }
+        for (PluginOptions plugin : plugins) {
+            parts.add("plugin:" + options(plugin));
+        }
+        return String.join("\n", parts);
+    }
+
+    /**
+     * Identifies the given executable.
+     *
+     * <p>An executable specified by a path is identified by the hash of its contents. If
+     * the executable is not installed yet, it is identified by its path.
+     */
+    private static String locator(ExecutableLocator locator) {
+        if (locator.getArtifact() != null) {
+            return locator.getArtifact();
+        }
+        String path = locator.getPath();
+        if (path == null) {
+            return locator.getName();
+        }
+        File executable = new File(path);
+        if (!executable.isFile()) {
+            return path;
+        }
+        try {
+            return MoreFiles.asByteSource(executable.toPath())
+                            .hash(Hashing.sha256())
+                            .toString();
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to read `%s`.", executable), e);
+        }
+    }
+
+    private static String options(PluginOptions options) {
+        return options.getName() + options.getOptions() + options.getOutputSubDir();
+    }
+
+    /**
+     * Finds the files generated during the given run and the proto files they originate from.
+     *
+     * <p>The origin of a file is read from its {@code source:} header. The gRPC stubs, which
+     * have no such header, are matched by their paths within the output directory of
+     * the generator.
+     *
+     * @param outputBaseDir
+     *         the directory which contains the output directories of the generators
+     * @param run
+     *         the completed run of the task
+     * @param grpcStubs
+     *         the proto files by the paths of the {@linkplain DescriptorSets#grpcStubs gRPC stubs}
+     *         generated from them
+     */
+    private static Map<String, String> generated(File outputBaseDir,
+                                                 Run run,
+                                                 Map<String, String> grpcStubs) {
+        if (!outputBaseDir.isDirectory()) {
+            return ImmutableMap.of();
+        }
+        Map<String, String> generated = new HashMap<>();
+        Path root = outputBaseDir.toPath();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                 .filter(file -> file.toFile()
+                                     .lastModified() >= run.startedAt)
+                 .forEach(file -> {
+                     Path relative = root.relativize(file);
+                     Optional<String> source = sourceOf(file);
+                     if (!source.isPresent() && relative.getNameCount() > 1) {
+                         String withinGenerator = ProtoFiles.unixPath(
+                                 relative.subpath(1, relative.getNameCount())
+                         );
+                         source = Optional.ofNullable(grpcStubs.get(withinGenerator));
+                     }
+                     source.filter(run.hashes::containsKey)
+                           .ifPresent(name -> generated.put(ProtoFiles.unixPath(relative),
+                                                            name));
+                 });
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to list `%s`.", outputBaseDir), e);
+        }
+        return generated;
+    }
+
+    /**
+     * Reads the name of the proto file from the header of the given generated file.
+     */
+    private static Optional<String> sourceOf(Path generatedFile) {
+        byte[] header = new byte[HEADER_LENGTH];
+        int length;
+        try (InputStream stream = Files.newInputStream(generatedFile)) {
+            length = Math.max(stream.read(header), 0);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        Matcher matcher = SOURCE_HEADER.matcher(new String(header, 0, length, ISO_8859_1));
+        return matcher.find()
+               ? Optional.of(matcher.group(1))
+               : Optional.empty();
+    }
+
+    private static void copy(File source, File target) {
+        try {
+            Files.createDirectories(target.toPath()
+                                          .getParent());
+            Files.copy(source.toPath(), target.toPath(), REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to copy `%s` to `%s`.", source, target), e);
+        }
+    }
+
+    private static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to delete `%s`.", file), e);
+        }
+    }
+
+    /**
+     * A single run of the task.
+     */
+    static final class Run {
+
+        private final String toolchain;
+        private final Map<String, String> hashes;
+        private final long startedAt;
+        private @Nullable CompilationState previous;
+        private Set<String> recompiled = ImmutableSet.of();
+        private Set<File> selected = ImmutableSet.of();
+
+        private Run(String toolchain, Map<String, String> hashes, long startedAt) {
+            this.toolchain = toolchain;
+            this.hashes = hashes;
+            // File systems may store the modification time with the precision of a second.
+            this.startedAt = startedAt - startedAt % 1000;
+        }
+
+        private void recompile(CompilationState previous,
+                               Set<String> names,
+                               Map<String, File> files) {
+            this.previous = previous;
+            this.recompiled = names;
+            this.selected = names.stream()
+                                 .map(files::get)
+                                 .collect(ImmutableSet.toImmutableSet());
+        }
+
+        boolean includes(File file) {
+            return previous == null || selected.contains(file);
+        }
+    }
+}
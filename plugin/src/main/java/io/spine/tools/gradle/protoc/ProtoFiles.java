@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.protobuf.gradle.GenerateProtoTask;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Utilities for working with the proto files compiled by a {@code protoc} task.
+ */
+final class ProtoFiles {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ProtoFiles() {
+    }
+
+    /**
+     * Obtains the proto files of the task by the names used to import them.
+     *
+     * @return the files by their names, or empty {@code Optional} if some file does not belong
+     *         to any of the include directories of the task
+     */
+    static Optional<Map<String, File>> byName(GenerateProtoTask task) {
+        checkNotNull(task);
+        Set<File> includeDirs = task.getIncludeDirs()
+                                    .getFiles();
+        Map<String, File> files = new HashMap<>();
+        for (File file : task.getSourceFiles()) {
+            Optional<String> name = nameOf(file, includeDirs);
+            if (!name.isPresent()) {
+                return Optional.empty();
+            }
+            files.put(name.get(), file);
+        }
+        return Optional.of(files);
+    }
+
+    /**
+     * Converts the given relative path into the form used in the {@code import} statements.
+     */
+    static String unixPath(Path path) {
+        return path.toString()
+                   .replace(File.separatorChar, '/');
+    }
+
+    private static Optional<String> nameOf(File file, Set<File> includeDirs) {
+        Path path = file.toPath();
+        for (File dir : includeDirs) {
+            Path root = dir.toPath();
+            if (path.startsWith(root)) {
+                return Optional.of(unixPath(root.relativize(path)));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -26,6 +26,8 @@
 
 package io.spine.tools.gradle.protoc;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.gradle.ExecutableLocator;
 import com.google.protobuf.gradle.GenerateProtoTask;
 import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
@@ -33,14 +35,29 @@ import com.google.protobuf.gradle.ProtobufConfigurator;
 import com.google.protobuf.gradle.ProtobufConfigurator.GenerateProtoTaskCollection;
 import com.google.protobuf.gradle.ProtobufConvention;
 import groovy.lang.Closure;
-import io.spine.tools.gradle.PluginId;
+import io.spine.tools.gradle.config.BuildProperties;
+import io.spine.tools.gradle.protoc.ProtocPlugin.Name;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.gradle.api.Action;
 import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
-import org.gradle.api.plugins.PluginManager;
+import org.gradle.api.Task;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.plugins.ExtensionContainer;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitivity;
 
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.gradle.ProtobufDependencies.gradlePlugin;
 import static io.spine.tools.groovy.ConsumerClosure.closure;
@@ -49,78 +66,333 @@ import static io.spine.tools.groovy.ConsumerClosure.closure;
  * A facade for Protobuf plugin configuration.
  *
  * <p>Configures the {@code protoc} built-ins and plugins to be used for code generation.
+ *
+ * <p>There is a single generator per project, obtained via {@link #of(Project)}. The generator
+ * accumulates the requested changes and applies their final result to each
+ * {@link GenerateProtoTask} once. No matter how many times the built-ins and plugins are toggled,
+ * the generator reacts to the application of the Protobuf plugin once and registers a single
+ * {@code generateProtoTasks} rule in the project.
  */
 public final class ProtobufGenerator {
 
+    /**
+     * The name of the project extension which holds the generator.
+     */
+    private static final String EXTENSION_NAME = "spineProtobufGenerator";
+
+    /**
+     * The name of the Gradle property which specifies the path to a pre-installed
+     * {@code protoc} executable.
+     *
+     * <p>If the property is set, the executable is used instead of the resolved compiler artifact.
+     */
+    public static final String PROTOC_PATH_PROPERTY = "spine.protoc.path";
+
+    /**
+     * The name of the Gradle property which enables the incremental compilation of
+     * Protobuf definitions.
+     *
+     * <p>If the property is set to {@code true}, the {@code protoc} tasks compile only
+     * the changed proto files and the files which import them.
+     */
+    public static final String INCREMENTAL_PROPERTY = "spine.protoc.incremental";
+
+    /**
+     * The name of the input property of a {@code protoc} task which identifies the compiler.
+     */
+    private static final String COMPILER_INPUT = "spineProtoc";
+
+    private static final String OS_DETECTOR = "osdetector";
+    private static final String EXECUTABLE_EXTENSION = "exe";
+    private static final String INSTALL_DIR = "build/spine/protoc";
+
     private final Project project;
+    private final Toggles builtIns = new Toggles();
+    private final Toggles plugins = new Toggles();
+    private @Nullable String compilerArtifact;
+    private int compilationShards;
+    private boolean protobufApplied;
 
-    public ProtobufGenerator(Project project) {
-        this.project = checkNotNull(project);
+    private ProtobufGenerator(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Obtains the generator of the given project.
+     *
+     * <p>Creates the generator upon the first call for the project.
+     */
+    public static ProtobufGenerator of(Project project) {
+        checkNotNull(project);
+        ExtensionContainer extensions = project.getExtensions();
+        ProtobufGenerator existing = extensions.findByType(ProtobufGenerator.class);
+        if (existing != null) {
+            return existing;
+        }
+        ProtobufGenerator generator = new ProtobufGenerator(project);
+        extensions.add(ProtobufGenerator.class, EXTENSION_NAME, generator);
+        project.getPluginManager()
+               .withPlugin(gradlePlugin().value(), plugin -> generator.onProtobufPlugin());
+        return generator;
     }
 
     /**
      * Enables code generation with the given {@code protoc} built-in.
      */
     public void enableBuiltIn(ProtocPlugin builtIn) {
-        enableIn(builtIn, GenerateProtoTask::getBuiltins);
+        builtIns.enable(builtIn);
     }
 
     /**
      * Enables code generation with the given {@code protoc} built-in.
      */
     public void enablePlugin(ProtocPlugin builtIn) {
-        enableIn(builtIn, GenerateProtoTask::getPlugins);
-    }
-
-    private void enableIn(ProtocPlugin plugin, ContainerSelector selector) {
-        withProtobufPlugin(() -> configureTasks(task -> {
-            NamedDomainObjectContainer<PluginOptions> plugins = selector.apply(task);
-            plugin.createIn(plugins);
-        }));
+        plugins.enable(builtIn);
     }
 
     /**
      * Disables code generation with the given {@code protoc} built-in.
      */
     public void disableBuiltIn(ProtocPlugin builtIn) {
-        disableIn(builtIn, GenerateProtoTask::getBuiltins);
+        builtIns.disable(builtIn);
     }
 
     /**
      * Disables code generation with the given {@code protoc} built-in.
      */
     public void disablePlugin(ProtocPlugin builtIn) {
-        disableIn(builtIn, GenerateProtoTask::getPlugins);
-    }
-
-    private void disableIn(ProtocPlugin plugin, ContainerSelector selector) {
-        withProtobufPlugin(() -> configureTasks(task -> {
-            NamedDomainObjectContainer<PluginOptions> plugins = selector.apply(task);
-            plugin.removeFrom(plugins);
-        }));
+        plugins.disable(builtIn);
     }
 
     /**
      * Specifies the Protobuf compiler to use to generate code.
      *
+     * <p>The compiler is set when the Protobuf plugin is applied to the project, or immediately,
+     * if the plugin is already applied.
+     *
+     * <p>If the {@value #PROTOC_PATH_PROPERTY} property is set, the pre-installed executable is
+     * used instead of the artifact. Otherwise, the artifact is installed once per build into
+     * a location shared by all the projects of the build.
+     *
      * @param artifactSpec
      *         Protobuf compiler artifact spec
      */
     public void useCompiler(String artifactSpec) {
         checkNotNull(artifactSpec);
-        withProtobufPlugin(() -> protobufConfigurator().protoc(closure(
-                (ExecutableLocator locator) -> locator.setArtifact(artifactSpec))
+        this.compilerArtifact = artifactSpec;
+        if (protobufApplied) {
+            applyCompiler();
+        }
+    }
+
+    /**
+     * Specifies the maximum number of concurrent {@code protoc} processes which compile
+     * the Protobuf definitions of a source set.
+     *
+     * <p>If the number is greater than {@code 1}, the proto files are split into
+     * {@linkplain ShardedProtoc shards} compiled concurrently. Otherwise, each source set is
+     * compiled by a single {@code protoc} process.
+     */
+    public void compileInShards(int shards) {
+        checkArgument(shards >= 0, "The number of shards cannot be negative.");
+        this.compilationShards = shards;
+    }
+
+    /**
+     * Obtains the artifacts of the {@code protoc} plugins configured in the project.
+     *
+     * <p>The plugins located by a path rather than by an artifact are not included. If
+     * the Protobuf plugin is not applied to the project, returns an empty list.
+     */
+    public ImmutableList<String> pluginArtifacts() {
+        if (!protobufApplied) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<String> artifacts = ImmutableList.builder();
+        protobufConfigurator().plugins(closure(
+                (NamedDomainObjectContainer<ExecutableLocator> locators) -> locators.forEach(
+                        locator -> {
+                            String artifact = locator.getArtifact();
+                            if (artifact != null) {
+                                artifacts.add(artifact);
+                            }
+                        })
         ));
+        return artifacts.build();
     }
 
-    private void configureTasks(Consumer<GenerateProtoTask> config) {
-        Closure<?> forEachTask = closure(
-                (GenerateProtoTaskCollection tasks) -> tasks.all()
-                                                            .forEach(config)
-        );
+    /**
+     * Configures the Protobuf plugin once it is applied to the project.
+     *
+     * <p>Sets the requested compiler and registers the rule which applies the built-ins and
+     * plugins to the {@code protoc} tasks. The rule is executed by the Protobuf plugin after
+     * the tasks are created, and thus observes the final state of the toggles.
+     */
+    private void onProtobufPlugin() {
+        protobufApplied = true;
+        if (compilerArtifact != null) {
+            applyCompiler();
+        }
+        boolean incremental = BuildProperties.of(project)
+                                             .isEnabled(INCREMENTAL_PROPERTY);
+        Closure<?> forEachTask = closure((GenerateProtoTaskCollection tasks) -> {
+            Action<GenerateProtoTask> compilerConfig = compilerConfig();
+            tasks.all()
+                 .forEach(task -> {
+                     if (compilationShards > 1) {
+                         ShardedProtoc.applyTo(task, compilationShards);
+                     }
+                     configure(task, incremental);
+                     // Configured last, so that the compiler is installed before
+                     // other `doFirst` actions.
+                     compilerConfig.execute(task);
+                 });
+        });
         protobufConfigurator().generateProtoTasks(forEachTask);
     }
 
+    private void applyCompiler() {
+        String artifact = checkNotNull(compilerArtifact);
+        @Nullable String preinstalled = BuildProperties.of(project)
+                                                       .find(PROTOC_PATH_PROPERTY)
+                                                       .orElse(null);
+        protobufConfigurator().protoc(closure((ExecutableLocator locator) -> {
+            if (preinstalled != null) {
+                locator.setPath(project.file(preinstalled)
+                                       .getAbsolutePath());
+            } else {
+                locator.setArtifact(artifact);
+            }
+        }));
+    }
+
+    /**
+     * Creates the action which configures the compiler of a {@code protoc} task.
+     *
+     * <p>The compiler is declared as an input of the task in a way independent of
+     * the location of the project. The shared compiler is identified by its artifact
+     * coordinates. A compiler specified by a path is identified by the contents of
+     * the executable.
+     */
+    private Action<GenerateProtoTask> compilerConfig() {
+        Optional<InstallProtoc> installation = shareCompiler();
+        if (installation.isPresent()) {
+            InstallProtoc action = installation.get();
+            return task -> {
+                task.usesService(action.service);
+                task.doFirst(action);
+                task.getInputs()
+                    .property(COMPILER_INPUT, action.notation);
+            };
+        }
+        Optional<File> executable = compilerExecutable();
+        return task -> executable.ifPresent(
+                file -> task.getInputs()
+                            .file(file)
+                            .withPropertyName(COMPILER_INPUT)
+                            .withPathSensitivity(PathSensitivity.NONE)
+        );
+    }
+
+    /**
+     * Obtains the compiler executable if it is specified by a path rather than by an artifact.
+     */
+    private Optional<File> compilerExecutable() {
+        ExecutableLocator compiler = compilerLocator();
+        String path = compiler.getPath();
+        if (compiler.getArtifact() != null || path == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new File(path));
+    }
+
+    /**
+     * Replaces the per-project resolution of the requested compiler with the executable
+     * installed once per build.
+     *
+     * <p>If the compiler is changed in the build script of the project, or the platform of
+     * the compiler cannot be determined, leaves the compiler intact.
+     *
+     * @return the action installing the shared executable, or empty {@code Optional} if
+     *         the compiler is not shared
+     */
+    private Optional<InstallProtoc> shareCompiler() {
+        if (compilerArtifact == null) {
+            return Optional.empty();
+        }
+        Optional<String> notation = platformNotation(compilerArtifact);
+        if (!notation.isPresent()) {
+            return Optional.empty();
+        }
+        ExecutableLocator compiler = compilerLocator();
+        if (compiler.getPath() != null || !compilerArtifact.equals(compiler.getArtifact())) {
+            return Optional.empty();
+        }
+        InstallProtoc installation = installProtoc(notation.get());
+        compiler.setArtifact(null);
+        compiler.setPath(installation.executable.getAbsolutePath());
+        return Optional.of(installation);
+    }
+
+    /**
+     * Obtains the locator of the {@code protoc} executable configured in the project.
+     *
+     * <p>The Protobuf plugin exposes the locator only to the {@code protobuf.protoc} closure.
+     */
+    private ExecutableLocator compilerLocator() {
+        AtomicReference<ExecutableLocator> compiler = new AtomicReference<>();
+        protobufConfigurator().protoc(closure(
+                (ExecutableLocator locator) -> compiler.set(locator)
+        ));
+        return checkNotNull(compiler.get());
+    }
+
+    private InstallProtoc installProtoc(String notation) {
+        Dependency dependency = project.getDependencies()
+                                       .create(notation);
+        FileCollection artifact = project.getConfigurations()
+                                         .detachedConfiguration(dependency);
+        String fileName = notation.replace(':', '-')
+                                  .replace('@', '.');
+        File executable = project.getRootDir()
+                                 .toPath()
+                                 .resolve(INSTALL_DIR)
+                                 .resolve(fileName)
+                                 .toFile();
+        Provider<ProtocService> service = ProtocService.of(project.getGradle());
+        return new InstallProtoc(service, notation, artifact, executable);
+    }
+
+    /**
+     * Composes the notation of the compiler executable for the current platform, the same way
+     * the Protobuf plugin does.
+     */
+    private Optional<String> platformNotation(String artifact) {
+        if (artifact.indexOf('@') >= 0) {
+            return Optional.of(artifact);
+        }
+        Object osDetector = project.getExtensions()
+                                   .findByName(OS_DETECTOR);
+        if (osDetector == null) {
+            return Optional.empty();
+        }
+        List<String> parts = Splitter.on(':')
+                                     .splitToList(artifact);
+        String withClassifier = parts.size() > 3
+                                ? artifact
+                                : artifact + ':' + InvokerHelper.getProperty(osDetector,
+                                                                             "classifier");
+        return Optional.of(withClassifier + '@' + EXECUTABLE_EXTENSION);
+    }
+
+    private void configure(GenerateProtoTask task, boolean incremental) {
+        builtIns.applyTo(task.getBuiltins());
+        plugins.applyTo(task.getPlugins());
+        if (incremental) {
+            IncrementalCompilation.applyTo(task);
+        }
+    }
+
     private ProtobufConfigurator protobufConfigurator() {
         ProtobufConfigurator protobuf = project.getConvention()
                                                .getPlugin(ProtobufConvention.class)
@@ -128,17 +400,70 @@ public final class ProtobufGenerator {
         return protobuf;
     }
 
-    private void withProtobufPlugin(Runnable action) {
-        PluginManager pluginManager = project.getPluginManager();
-        PluginId pluginId = gradlePlugin();
-        if (pluginManager.hasPlugin(pluginId.value())) {
-            action.run();
-        } else {
-            pluginManager.withPlugin(pluginId.value(), plugin -> action.run());
+    /**
+     * Installs the shared {@code protoc} executable before a {@code protoc} task runs.
+     */
+    private static final class InstallProtoc implements Action<Task> {
+
+        private final Provider<ProtocService> service;
+        private final String notation;
+        private final FileCollection artifact;
+        private final File executable;
+
+        private InstallProtoc(Provider<ProtocService> service,
+                              String notation,
+                              FileCollection artifact,
+                              File executable) {
+            this.service = service;
+            this.notation = notation;
+            this.artifact = artifact;
+            this.executable = executable;
+        }
+
+        @Override
+        public void execute(Task task) {
+            service.get()
+                   .install(artifact, executable);
         }
     }
 
-    private interface ContainerSelector
-            extends Function<GenerateProtoTask, NamedDomainObjectContainer<PluginOptions>> {
+    /**
+     * The requested state of the {@code protoc} built-ins or plugins.
+     *
+     * <p>For each mentioned built-in or plugin, the state is either "disabled", represented by
+     * an empty list, or "enabled" with the list of all the configurations requested since it was
+     * last disabled.
+     */
+    private static final class Toggles {
+
+        private final Map<Name, List<ProtocPlugin>> state = new LinkedHashMap<>();
+
+        private void enable(ProtocPlugin plugin) {
+            Name name = plugin.name();
+            List<ProtocPlugin> enabled = state.get(name);
+            if (enabled == null || enabled.isEmpty()) {
+                enabled = new ArrayList<>();
+                state.remove(name);
+                state.put(name, enabled);
+            }
+            enabled.add(plugin);
+        }
+
+        private void disable(ProtocPlugin plugin) {
+            Name name = plugin.name();
+            state.remove(name);
+            state.put(name, new ArrayList<>());
+        }
+
+        private void applyTo(NamedDomainObjectContainer<PluginOptions> container) {
+            state.forEach((name, enabled) -> {
+                if (enabled.isEmpty()) {
+                    ProtocPlugin.called(name)
+                                .removeFrom(container);
+                } else {
+                    enabled.forEach(plugin -> plugin.createIn(container));
+                }
+            });
+        }
     }
 }
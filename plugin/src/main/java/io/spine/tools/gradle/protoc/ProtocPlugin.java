@@ -58,10 +58,24 @@ public final class ProtocPlugin {
         return new ProtocPlugin(name, option);
     }
 
+    /**
+     * Obtains the name of the built-in or plugin.
+     */
+    Name name() {
+        return name;
+    }
+
+    /**
+     * Adds the built-in or plugin to the given container.
+     *
+     * <p>The option is added only once, so that repeated calls do not change the options of
+     * the built-in or plugin, and thus the cache key of the {@code protoc} task.
+     */
     public void createIn(NamedDomainObjectContainer<GenerateProtoTask.PluginOptions> plugins) {
         checkNotNull(plugins);
         GenerateProtoTask.PluginOptions options = plugins.maybeCreate(name.name());
-        if (option != null) {
+        if (option != null && !options.getOptions()
+                                       .contains(option)) {
             options.option(option);
         }
     }
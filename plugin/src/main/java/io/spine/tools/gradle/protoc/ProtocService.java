@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A build service which installs the {@code protoc} executable once per build.
+ *
+ * <p>All the projects of the build use the executable installed into the same location. The
+ * first {@code protoc} task to run copies the resolved artifact to that location and makes it
+ * executable. The rest of the tasks reuse the installed file.
+ */
+public abstract class ProtocService implements BuildService<BuildServiceParameters.None> {
+
+    private static final String NAME = "spineProtoc";
+
+    private final Map<File, File> installed = new ConcurrentHashMap<>();
+
+    /**
+     * Obtains the service registered in the given build, registering it if necessary.
+     */
+    static Provider<ProtocService> of(Gradle gradle) {
+        checkNotNull(gradle);
+        return gradle.getSharedServices()
+                     .registerIfAbsent(NAME, ProtocService.class, spec -> {});
+    }
+
+    /**
+     * Installs the {@code protoc} executable to the given location unless it is already
+     * installed during this build.
+     *
+     * @param artifact
+     *         the resolved {@code protoc} artifact
+     * @param executable
+     *         the location of the executable
+     */
+    void install(FileCollection artifact, File executable) {
+        checkNotNull(artifact);
+        checkNotNull(executable);
+        installed.computeIfAbsent(executable, target -> copy(artifact.getSingleFile(), target));
+    }
+
+    private static File copy(File source, File target) {
+        try {
+            boolean upToDate = target.exists()
+                    && target.length() == source.length()
+                    && target.lastModified() >= source.lastModified();
+            if (!upToDate) {
+                Files.createDirectories(target.toPath()
+                                              .getParent());
+                Files.copy(source.toPath(), target.toPath(), REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to install `%s` to `%s`.", source, target), e);
+        }
+        if (!target.canExecute() && !target.setExecutable(true)) {
+            throw new GradleException(format("Unable to make `%s` executable.", target));
+        }
+        return target;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import io.spine.logging.Logging;
+import org.gradle.api.GradleException;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A unit of work which compiles a single shard of proto files with {@code protoc}.
+ *
+ * <p>The output of {@code protoc} is collected separately for each shard. It is logged once
+ * the compiler completes and is reported as a part of the failure if the compiler fails.
+ *
+ * <p>The class is public and non-final, so that Gradle is able to instantiate it.
+ */
+public abstract class ProtocShardAction implements WorkAction<ProtocShardAction.Parameters>,
+                                                   Logging {
+
+    private final ExecOperations execOperations;
+
+    @Inject
+    public ProtocShardAction(ExecOperations execOperations) {
+        this.execOperations = checkNotNull(execOperations);
+    }
+
+    @Override
+    public void execute() {
+        List<String> command = getParameters().getCommand()
+                                              .get();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExecResult result = execOperations.exec(spec -> {
+            spec.commandLine(command);
+            spec.setStandardOutput(output);
+            spec.setErrorOutput(output);
+            spec.setIgnoreExitValue(true);
+        });
+        String protocOutput = new String(output.toByteArray(), UTF_8).trim();
+        int exitCode = result.getExitValue();
+        if (exitCode != 0) {
+            throw new GradleException(format(
+                    "`protoc` exited with code %s:%n%s", exitCode, protocOutput
+            ));
+        }
+        if (!protocOutput.isEmpty()) {
+            _info().log("`protoc` output:%n%s", protocOutput);
+        }
+    }
+
+    /**
+     * The parameters of a single {@code protoc} invocation.
+     */
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * The {@code protoc} command, including the executable and the proto files to compile.
+         */
+        ListProperty<String> getCommand();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Partitions the proto files of a {@code protoc} task into shards which may be compiled
+ * concurrently.
+ *
+ * <p>The files are distributed among the shards by their size, so that the shards take
+ * similar time to compile. The imports do not affect the partition: each {@code protoc}
+ * process receives all the include directories of the task and resolves the imported files
+ * on its own.
+ *
+ * <p>The partition is deterministic, so that the results of the compilation do not depend on
+ * the order in which the files are listed.
+ */
+final class ProtocShards {
+
+    private static final Comparator<File> LARGEST_FIRST =
+            Comparator.comparingLong(File::length)
+                      .reversed()
+                      .thenComparing(File::getPath);
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ProtocShards() {
+    }
+
+    /**
+     * Partitions the given files into at most the given number of shards.
+     *
+     * <p>The files are assigned to the shards one by one, starting from the largest file.
+     * Each file goes to the shard with the smallest total size.
+     *
+     * @param files
+     *         the proto files to partition
+     * @param count
+     *         the maximum number of shards
+     * @return non-empty shards, each sorted by the paths of the files
+     */
+    static ImmutableList<ImmutableList<File>> partition(Collection<File> files, int count) {
+        checkNotNull(files);
+        checkArgument(count > 0, "The number of shards must be positive.");
+        int shardCount = Math.min(count, files.size());
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard());
+        }
+        files.stream()
+             .sorted(LARGEST_FIRST)
+             .forEach(file -> shards.stream()
+                                    .min(Comparator.comparingLong(Shard::size))
+                                    .orElseThrow(IllegalStateException::new)
+                                    .add(file));
+        return shards.stream()
+                     .map(Shard::files)
+                     .collect(toImmutableList());
+    }
+
+    /**
+     * A group of files compiled by a single {@code protoc} process.
+     */
+    private static final class Shard {
+
+        private final List<File> files = new ArrayList<>();
+        private long size;
+
+        private void add(File file) {
+            files.add(file);
+            size += file.length();
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private ImmutableList<File> files() {
+            return files.stream()
+                        .sorted(Comparator.comparing(File::getPath))
+                        .collect(toImmutableList());
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.GenerateProtoTask.DescriptorSetOptions;
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+import org.gradle.api.Action;
+import org.gradle.api.Describable;
+import org.gradle.api.GradleException;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.Task;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Compiles the proto files of a {@code protoc} task in several concurrent {@code protoc}
+ * processes.
+ *
+ * <p>The files are split into {@linkplain ProtocShards shards of similar size}. Each shard is
+ * compiled by a separate {@code protoc} process submitted to the Gradle Worker API, so that
+ * the number of simultaneous processes is bounded by the {@code --max-workers} setting of
+ * the build.
+ *
+ * <p>The {@code protoc} command is composed the same way as the Protobuf plugin does it. All
+ * the shards write the generated code to the output directories of the task. If the task
+ * generates a descriptor set, each shard generates a separate set, and the sets are merged
+ * into the descriptor set of the task.
+ *
+ * <p>The command is composed with the help of the internals of the Protobuf plugin, and
+ * the compilation action of the plugin is found by its name. Thus, only the
+ * {@linkplain #SUPPORTED_PLUGIN_VERSION tested version} of the plugin is supported. The version
+ * is checked when the sharded compilation is configured.
+ *
+ * <p>The class is public and abstract, so that Gradle is able to instantiate it.
+ */
+public abstract class ShardedProtoc implements Action<Task> {
+
+    /**
+     * The name of the action of {@link GenerateProtoTask} which runs {@code protoc}.
+     */
+    private static final String COMPILE_ACTION = "Execute compile";
+
+    /**
+     * The version of the Protobuf Gradle plugin which internals are used to compose
+     * the {@code protoc} command.
+     */
+    static final String SUPPORTED_PLUGIN_VERSION = "0.8.13";
+
+    private static final Pattern PLUGIN_JAR = Pattern.compile("protobuf-gradle-plugin-(.+)\\.jar$");
+
+    private static final String JAR_EXTENSION = ".jar";
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private final Integer shards;
+    private final NamedDomainObjectContainer<PluginOptions> builtIns;
+    private final NamedDomainObjectContainer<PluginOptions> plugins;
+    private final WorkerExecutor workerExecutor;
+
+    /**
+     * Creates the action.
+     *
+     * <p>The built-ins and the plugins of the task are passed explicitly, since
+     * {@link GenerateProtoTask} does not expose them once the configuration is finished.
+     */
+    @Inject
+    public ShardedProtoc(Integer shards,
+                         NamedDomainObjectContainer<PluginOptions> builtIns,
+                         NamedDomainObjectContainer<PluginOptions> plugins,
+                         WorkerExecutor workerExecutor) {
+        this.shards = checkNotNull(shards);
+        this.builtIns = checkNotNull(builtIns);
+        this.plugins = checkNotNull(plugins);
+        this.workerExecutor = checkNotNull(workerExecutor);
+    }
+
+    /**
+     * Replaces the compilation performed by the given task with the sharded compilation.
+     *
+     * <p>The actions added to the task by other plugins are preserved.
+     *
+     * @param task
+     *         the task to configure
+     * @param shards
+     *         the maximum number of concurrent {@code protoc} processes
+     * @throws GradleException
+     *         if the applied version of the Protobuf plugin is not supported, or the task
+     *         does not have the compilation action of the plugin
+     */
+    static void applyTo(GenerateProtoTask task, int shards) {
+        checkSupported(task.getPath(), pluginVersion());
+        List<Action<? super Task>> actions = task.getActions();
+        for (int i = 0; i < actions.size(); i++) {
+            Action<? super Task> action = actions.get(i);
+            if (action instanceof Describable
+                    && COMPILE_ACTION.equals(((Describable) action).getDisplayName())) {
+                ShardedProtoc sharded = task.getProject()
+                                            .getObjects()
+                                            .newInstance(ShardedProtoc.class,
+                                                         shards,
+                                                         task.getBuiltins(),
+                                                         task.getPlugins());
+                actions.set(i, sharded);
+                return;
+            }
+        }
+        throw unsupported(task.getPath(), format("the task has no `%s` action", COMPILE_ACTION));
+    }
+
+    /**
+     * Checks that the sharded compilation supports the applied version of the Protobuf plugin.
+     *
+     * <p>If the version is unknown, checks that the plugin has the internals the sharded
+     * compilation relies upon.
+     *
+     * @param taskPath
+     *         the path of the task to compile in shards
+     * @param version
+     *         the version of the applied Protobuf plugin, if known
+     * @throws GradleException
+     *         if the version is not supported
+     */
+    @VisibleForTesting
+    static void checkSupported(String taskPath, Optional<String> version) {
+        if (version.isPresent()) {
+            if (!SUPPORTED_PLUGIN_VERSION.equals(version.get())) {
+                throw unsupported(taskPath, format("version `%s` is applied", version.get()));
+            }
+            return;
+        }
+        try {
+            Class<GenerateProtoTask> taskClass = GenerateProtoTask.class;
+            taskClass.getMethod("generateCmds", List.class, List.class, int.class);
+            taskClass.getMethod("getCmdLengthLimit");
+            taskClass.getMethod("makeOptionsPrefix", List.class);
+            taskClass.getMethod("getLocatorToAlternativePathsMapping");
+        } catch (NoSuchMethodException e) {
+            throw unsupported(taskPath, format("`%s` is missing", e.getMessage()));
+        }
+    }
+
+    private static GradleException unsupported(String taskPath, String reason) {
+        return new GradleException(format(
+                "Cannot compile `%s` in shards: %s. The sharded compilation relies on " +
+                        "the internals of the Protobuf Gradle plugin `%s`. Apply this version " +
+                        "of the plugin, or set `spine.protocShards` to `1`.",
+                taskPath, reason, SUPPORTED_PLUGIN_VERSION
+        ));
+    }
+
+    /**
+     * Obtains the version of the applied Protobuf plugin from the name of its JAR file.
+     */
+    private static Optional<String> pluginVersion() {
+        CodeSource source = GenerateProtoTask.class.getProtectionDomain()
+                                                   .getCodeSource();
+        if (source == null) {
+            return Optional.empty();
+        }
+        return versionOf(source.getLocation()
+                               .getPath());
+    }
+
+    /**
+     * Parses the version of the Protobuf plugin from the path to its JAR file.
+     */
+    @VisibleForTesting
+    static Optional<String> versionOf(String jarPath) {
+        Matcher matcher = PLUGIN_JAR.matcher(jarPath);
+        return matcher.find()
+               ? Optional.of(matcher.group(1))
+               : Optional.empty();
+    }
+
+    @Override
+    public void execute(Task t) {
+        GenerateProtoTask task = (GenerateProtoTask) t;
+        Set<File> files = task.getSourceFiles()
+                              .getFiles();
+        if (files.isEmpty()) {
+            return;
+        }
+        ImmutableList<ImmutableList<File>> partition = ProtocShards.partition(files, shards);
+        task.getLogger()
+            .info("Compiling {} proto files in {} shards.", files.size(), partition.size());
+        List<String> baseCommand = baseCommand(task);
+        int lengthLimit = GenerateProtoTask.getCmdLengthLimit();
+        List<File> descriptorSets = new ArrayList<>();
+        WorkQueue queue = workerExecutor.noIsolation();
+        for (ImmutableList<File> shard : partition) {
+            for (List<String> generated :
+                    GenerateProtoTask.generateCmds(baseCommand, shard, lengthLimit)) {
+                List<String> command = new ArrayList<>(generated);
+                if (task.getGenerateDescriptorSet()) {
+                    File descriptorSet = new File(task.getTemporaryDir(),
+                                                  "shard-" + descriptorSets.size() + ".desc");
+                    descriptorSets.add(descriptorSet);
+                    command.addAll(baseCommand.size(), descriptorSetArguments(task,
+                                                                              descriptorSet));
+                }
+                queue.submit(ProtocShardAction.class,
+                             parameters -> parameters.getCommand()
+                                                     .set(command));
+            }
+        }
+        queue.await();
+        if (!descriptorSets.isEmpty()) {
+            mergeDescriptorSets(descriptorSets, new File(task.getDescriptorPath()));
+        }
+    }
+
+    /**
+     * Composes the {@code protoc} command without the proto files and the descriptor set
+     * options.
+     */
+    private List<String> baseCommand(GenerateProtoTask task) {
+        List<String> command = new ArrayList<>();
+        command.add(executablePath(task, task.getProtocLocator()
+                                             .get()));
+        task.getIncludeDirs()
+            .filter(File::exists)
+            .forEach(dir -> command.add("-I" + dir.getPath()));
+        for (PluginOptions builtIn : builtIns) {
+            command.add(outputArgument(task, builtIn));
+        }
+        Map<String, ExecutableLocator> locators = task.getPluginsExecutableLocators()
+                                                      .get();
+        for (PluginOptions plugin : plugins) {
+            String name = plugin.getName();
+            ExecutableLocator locator = locators.get(name);
+            if (locator != null) {
+                command.add(format("--plugin=protoc-gen-%s=%s",
+                                   name, executablePath(task, locator)));
+            }
+            command.add(outputArgument(task, plugin));
+        }
+        return command;
+    }
+
+    private static String outputArgument(GenerateProtoTask task, PluginOptions options) {
+        String outputPath = task.getOutputDir(options);
+        File outputDir = new File(outputPath);
+        if (outputPath.endsWith(JAR_EXTENSION) || outputPath.endsWith(ZIP_EXTENSION)) {
+            outputDir = outputDir.getParentFile();
+        }
+        outputDir.mkdirs();
+        String prefix = GenerateProtoTask.makeOptionsPrefix(options.getOptions());
+        return format("--%s_out=%s%s", options.getName(), prefix, outputPath);
+    }
+
+    /**
+     * Obtains the path to the executable located by the given locator.
+     *
+     * <p>Follows the Protobuf plugin: the executable is either set by its path or resolved
+     * from an artifact, and the executable JARs are launched via a script.
+     */
+    private static String executablePath(GenerateProtoTask task, ExecutableLocator locator) {
+        String path = locator.getPath();
+        if (path != null) {
+            return path.endsWith(JAR_EXTENSION)
+                   ? jarLauncher(task, locator.getName(), new File(path))
+                   : path;
+        }
+        File file = task.getLocatorToAlternativePathsMapping()
+                        .getting(locator.getName())
+                        .get()
+                        .getSingleFile();
+        if (file.getName()
+                .endsWith(JAR_EXTENSION)) {
+            return jarLauncher(task, locator.getName(), file);
+        }
+        if (!file.canExecute() && !file.setExecutable(true)) {
+            throw new GradleException(format("Cannot set `%s` as executable.", file));
+        }
+        return file.getPath();
+    }
+
+    /**
+     * Writes a script which launches the given executable JAR.
+     *
+     * @return the path to the script
+     */
+    private static String jarLauncher(GenerateProtoTask task, String name, File jar) {
+        boolean windows = File.separatorChar == '\\';
+        File script = new File(task.getTemporaryDir(), name + (windows ? ".bat" : ".sh"));
+        String content = windows
+                         ? format("@java -jar \"%s\" %%*%n", jar.getAbsolutePath())
+                         : format("#!/bin/sh%nexec java -jar '%s' \"$@\"%n",
+                                  jar.getAbsolutePath());
+        try {
+            Files.write(script.toPath(), content.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write `%s`.", script), e);
+        }
+        if (!script.setExecutable(true)) {
+            throw new GradleException(format("Cannot set `%s` as executable.", script));
+        }
+        return script.getPath();
+    }
+
+    private static List<String> descriptorSetArguments(GenerateProtoTask task, File target) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--descriptor_set_out=" + target.getPath());
+        DescriptorSetOptions options = task.getDescriptorSetOptions();
+        if (options.getIncludeImports()) {
+            arguments.add("--include_imports");
+        }
+        if (options.getIncludeSourceInfo()) {
+            arguments.add("--include_source_info");
+        }
+        return arguments;
+    }
+
+    private static void mergeDescriptorSets(List<File> descriptorSets, File target) {
+        File merged = descriptorSets.get(0);
+        for (File descriptorSet : descriptorSets.subList(1, descriptorSets.size())) {
+            DescriptorSets.merge(merged, descriptorSet);
+            merged = descriptorSet;
+        }
+        try {
+            Files.createDirectories(target.toPath()
+                                          .getParent());
+            Files.copy(merged.toPath(), target.toPath(), REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new GradleException(format("Unable to write `%s`.", target), e);
+        }
+    }
+}
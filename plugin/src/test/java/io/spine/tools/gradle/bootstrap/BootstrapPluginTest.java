@@ -27,7 +27,10 @@
 package io.spine.tools.gradle.bootstrap;
 
 import com.google.common.truth.Subject;
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.ProtobufConvention;
 import io.spine.testing.TempDir;
+import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,8 +38,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.groovy.ConsumerClosure.closure;
 
 @DisplayName("BootstrapPlugin should")
 class BootstrapPluginTest {
@@ -66,4 +71,100 @@ class BootstrapPluginTest {
         assertExtension.isNotNull();
         assertExtension.isInstanceOf(Extension.class);
     }
+
+    @Test
+    @DisplayName("add Spine repositories to the project")
+    void addRepositories() {
+        BootstrapPlugin plugin = new BootstrapPlugin();
+        plugin.apply(project);
+
+        assertThat(project.getRepositories()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("not add repositories if the settings plugin is applied")
+    void skipRepositories() {
+        project.getGradle()
+               .getPluginManager()
+               .apply(BootstrapSettingsPlugin.Applied.class);
+        BootstrapPlugin plugin = new BootstrapPlugin();
+        plugin.apply(project);
+
+        assertThat(project.getRepositories()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("register the task which populates a mirror repository")
+    void registerMirrorTask() {
+        BootstrapPlugin plugin = new BootstrapPlugin();
+        plugin.apply(project);
+
+        PopulateMirrorTask task = (PopulateMirrorTask) project.getTasks()
+                                                             .getByName(PopulateMirrorTask.NAME);
+        List<String> artifacts = task.getArtifacts()
+                                     .get();
+        assertThat(artifacts).isNotEmpty();
+        for (String classifier : MirroredArtifacts.PROTOC_CLASSIFIERS) {
+            assertThat(artifacts.stream()
+                                .anyMatch(notation -> notation.endsWith(classifier + "@exe")))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("mirror the executables of the `protoc` plugins for all the platforms")
+    void mirrorProtocPlugins() {
+        BootstrapPlugin plugin = new BootstrapPlugin();
+        plugin.apply(project);
+        project.getPluginManager()
+               .apply("java");
+        project.getPluginManager()
+               .apply("com.google.protobuf");
+        String grpc = "io.grpc:protoc-gen-grpc-java:1.28.1";
+        project.getConvention()
+               .getPlugin(ProtobufConvention.class)
+               .getProtobuf()
+               .plugins(closure((NamedDomainObjectContainer<ExecutableLocator> locators) -> {
+                   locators.create("grpc", locator -> locator.setArtifact(grpc));
+                   locators.create("local", locator -> locator.setPath("protoc-gen-local"));
+               }));
+
+        PopulateMirrorTask task = (PopulateMirrorTask) project.getTasks()
+                                                             .getByName(PopulateMirrorTask.NAME);
+        List<String> artifacts = task.getArtifacts()
+                                     .get();
+        for (String classifier : MirroredArtifacts.PROTOC_CLASSIFIERS) {
+            assertThat(artifacts).contains(grpc + ':' + classifier + "@exe");
+        }
+    }
+
+    @Test
+    @DisplayName("populate a single mirror in the build directory of the root project")
+    void mirrorInRootBuildDir() {
+        Project first = subproject("first");
+        Project second = subproject("second");
+        BootstrapPlugin plugin = new BootstrapPlugin();
+        plugin.apply(first);
+        plugin.apply(second);
+
+        assertThat(first.getTasks()
+                        .findByName(PopulateMirrorTask.NAME)).isNull();
+        assertThat(second.getTasks()
+                         .findByName(PopulateMirrorTask.NAME)).isNull();
+        PopulateMirrorTask task = (PopulateMirrorTask) project.getTasks()
+                                                             .getByName(PopulateMirrorTask.NAME);
+        File mirrorDir = task.getMirrorDir()
+                             .get()
+                             .getAsFile();
+        assertThat(mirrorDir).isEqualTo(new File(project.getBuildDir(), "spine-mirror"));
+    }
+
+    private Project subproject(String name) {
+        return ProjectBuilder
+                .builder()
+                .withName(name)
+                .withParent(project)
+                .withProjectDir(new File(project.getProjectDir(), name))
+                .build();
+    }
 }
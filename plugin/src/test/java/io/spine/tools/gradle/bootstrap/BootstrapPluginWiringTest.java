@@ -0,0 +1,372 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.protobuf.gradle.ProtobufPlugin;
+import groovy.json.JsonSlurper;
+import io.spine.dart.gradle.ProtoDartPlugin;
+import io.spine.js.gradle.ProtoJsPlugin;
+import io.spine.tools.gradle.compiler.ModelCompilerPlugin;
+import io.spine.tools.gradle.config.BuildProperties;
+import org.gradle.api.Task;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.PluginContainer;
+import org.gradle.api.tasks.TaskContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.gradle.ModelCompilerTaskName.generateRejections;
+import static io.spine.tools.gradle.ProtoJsTaskName.generateJsonParsers;
+import static io.spine.tools.gradle.bootstrap.DartTaskName.generateDart;
+import static io.spine.tools.gradle.bootstrap.DartTaskName.generateTestDart;
+import static io.spine.tools.gradle.bootstrap.given.FakeArtifacts.GRPC_PROTO_DEPENDENCY;
+import static io.spine.tools.gradle.bootstrap.given.FakeArtifacts.GRPC_STUB_DEPENDENCY;
+import static io.spine.tools.gradle.bootstrap.given.FakeArtifacts.spineVersion;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.grpc;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.java;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.js;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.spineProtoc;
+
+/**
+ * Checks how the plugin configures a project, without running a build.
+ *
+ * <p>The code generated with the configuration is checked by
+ * the {@linkplain io.spine.tools.gradle.bootstrap.func.SpineBootstrapPluginTest functional tests}.
+ */
+@DisplayName("`io.spine.tools.gradle.bootstrap` plugin should configure")
+class BootstrapPluginWiringTest {
+
+    private static final String IMPLEMENTATION = "implementation";
+    private static final String TEST_IMPLEMENTATION = "testImplementation";
+    private static final String COMPILE_ONLY = "compileOnly";
+    private static final String PROTOBUF = "protobuf";
+
+    private BootstrappedProject project;
+
+    @BeforeEach
+    void setUp() {
+        project = BootstrappedProject.create();
+    }
+
+    @AfterEach
+    void deleteProject() {
+        project.delete();
+    }
+
+    @Test
+    @DisplayName("the `spine` extension and the plugin tasks")
+    void apply() {
+        project.evaluate();
+        assertThat(project.project()
+                          .getTasks()
+                          .getNames()).containsAtLeast(PrefetchTask.NAME,
+                                                       PopulateMirrorTask.NAME,
+                                                       CodegenMetricsTask.NAME,
+                                                       AggregateCodegenMetricsTask.NAME);
+    }
+
+    @Test
+    @DisplayName("the code generation report which is not a part of the build by default")
+    void codegenMetricsOnRequest() {
+        project.spine()
+               .enableJava();
+        project.withProtoFile("src/main/proto/acme/order.proto")
+               .evaluate();
+        TaskContainer tasks = project.project()
+                                     .getTasks();
+        Task generateProto = tasks.getByName("generateProto");
+        assertThat(generateProto.getFinalizedBy()
+                                .getDependencies(null)).isEmpty();
+        assertThat(tasks.getByName(CodegenMetricsTask.NAME)
+                        .getMustRunAfter()
+                        .getDependencies(null)).contains(generateProto);
+    }
+
+    @Test
+    @DisplayName("the code generation report of the `protoc` tasks")
+    void codegenMetrics() throws IOException {
+        useProperty(CodegenMetricsTask.PROPERTY, "true");
+        project.spine()
+               .enableJava();
+        project.withProtoFile("src/main/proto/acme/order.proto")
+               .evaluate();
+        TaskContainer tasks = project.project()
+                                     .getTasks();
+        CodegenMetricsTask metrics = (CodegenMetricsTask) tasks.getByName(CodegenMetricsTask.NAME);
+        assertThat(tasks.getByName("generateProto")
+                        .getFinalizedBy()
+                        .getDependencies(null)).contains(metrics);
+        File report = metrics.getReport()
+                             .getAsFile()
+                             .get();
+        // Gradle creates the parent directories of the task outputs before running the task.
+        Files.createDirectories(report.toPath()
+                                      .getParent());
+        metrics.getActions()
+               .forEach(action -> action.execute(metrics));
+
+        Map<?, ?> json = (Map<?, ?>) new JsonSlurper().parse(report);
+        Map<?, ?> sourceSets = (Map<?, ?>) json.get("sourceSets");
+        Map<?, ?> main = (Map<?, ?>) sourceSets.get("main");
+        assertThat(main.get("protoFiles")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("no code generation if none requested")
+    void generateNothing() {
+        project.evaluate();
+        assertThat(project.builtIns()).doesNotContain(java.name());
+        assertThat(project.plugins()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Java code generation")
+    void generateJava() {
+        project.spine()
+               .enableJava();
+        project.evaluate();
+        assertThat(project.builtIns()).contains(java.name());
+        assertThat(project.plugins()).contains(spineProtoc.name());
+        assertThat(project.project()
+                          .getPlugins()
+                          .hasPlugin(ModelCompilerPlugin.class)).isTrue();
+        assertThat(project.task(generateRejections)
+                          .getEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("the Model Compiler to the recommended settings")
+    void modelCompilerConfig() {
+        project.spine()
+               .enableJava();
+        project.evaluate();
+        io.spine.tools.gradle.compiler.Extension modelCompiler =
+                project.project()
+                       .getExtensions()
+                       .getByType(io.spine.tools.gradle.compiler.Extension.class);
+        assertThat(modelCompiler.generateValidation).isTrue();
+    }
+
+    @Test
+    @DisplayName("JavaScript code generation")
+    void generateJs() {
+        project.spine()
+               .enableJavaScript();
+        project.evaluate();
+        assertThat(project.builtIns()).contains(js.name());
+        assertThat(project.project()
+                          .getPlugins()
+                          .hasPlugin(ProtoJsPlugin.class)).isTrue();
+        assertThat(project.hasTask(generateJsonParsers)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Dart code generation")
+    void generateDart() {
+        project.spine()
+               .enableDart();
+        project.evaluate();
+        assertThat(project.project()
+                          .getPlugins()
+                          .hasPlugin(ProtoDartPlugin.class)).isTrue();
+        assertThat(project.hasTask(generateDart)).isTrue();
+        assertThat(project.hasTask(generateTestDart)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Spine dependencies not to be compiled for JS projects")
+    void skipTransitiveProtos() {
+        project.spine()
+               .enableJavaScript();
+        assertSpineCompileOnly();
+    }
+
+    @Test
+    @DisplayName("Spine dependencies not to be compiled for mixed projects")
+    void skipTransitiveProtosForMixed() {
+        project.spine()
+               .enableJava();
+        project.spine()
+               .enableJavaScript();
+        assertSpineCompileOnly();
+    }
+
+    private void assertSpineCompileOnly() {
+        project.evaluate();
+        String base = "io.spine:spine-base:" + spineVersion;
+        String time = "io.spine:spine-time:" + spineVersion;
+        assertThat(project.dependencies(COMPILE_ONLY)).containsAtLeast(base, time);
+        assertThat(project.dependencies(IMPLEMENTATION)).containsNoneOf(base, time);
+        assertThat(project.dependencies(PROTOBUF)).containsNoneOf(base, time);
+    }
+
+    @Test
+    @DisplayName("client dependencies")
+    void clientDeps() {
+        project.spine()
+               .enableJava()
+               .client();
+        assertThat(project.dependencies(IMPLEMENTATION))
+                .contains("io.spine:spine-client:" + spineVersion);
+        assertThat(project.dependencies(TEST_IMPLEMENTATION))
+                .contains("io.spine:spine-testutil-client:" + spineVersion);
+    }
+
+    @Test
+    @DisplayName("server dependencies")
+    void serverDeps() {
+        project.spine()
+               .enableJava()
+               .server();
+        assertThat(project.dependencies(IMPLEMENTATION))
+                .contains("io.spine:spine-server:" + spineVersion);
+        assertThat(project.dependencies(TEST_IMPLEMENTATION))
+                .contains("io.spine:spine-testutil-server:" + spineVersion);
+    }
+
+    @Test
+    @DisplayName("gRPC stub generation if required")
+    void generateGrpc() {
+        project.spine()
+               .enableJava(config -> config.getCodegen()
+                                         .setGrpc(true));
+        project.evaluate();
+        assertThat(project.plugins()).contains(grpc.name());
+        assertThat(project.dependencies(IMPLEMENTATION))
+                .containsAtLeast(GRPC_PROTO_DEPENDENCY, GRPC_STUB_DEPENDENCY);
+    }
+
+    @Test
+    @DisplayName("no Java code generation if disabled")
+    void disableJava() {
+        project.spine()
+               .enableJava(config -> config.getCodegen()
+                                         .setProtobuf(false));
+        project.evaluate();
+        assertThat(project.builtIns()).doesNotContain(java.name());
+    }
+
+    @Test
+    @DisplayName("no Java code generation if disabled, ignoring gRPC settings")
+    void disableJavaAndGrpc() {
+        project.spine()
+               .enableJava(config -> {
+                   config.getCodegen()
+                       .setProtobuf(false);
+                   config.getCodegen()
+                       .setGrpc(true);
+               });
+        project.evaluate();
+        assertThat(project.builtIns()).doesNotContain(java.name());
+    }
+
+    @Test
+    @DisplayName("no rejections if Spine code generation is disabled")
+    void ignoreRejections() {
+        project.spine()
+               .enableJava(config -> {
+                   config.getCodegen()
+                       .setProtobuf(false);
+                   config.getCodegen()
+                       .setSpine(false);
+               });
+        project.evaluate();
+        assertThat(project.builtIns()).doesNotContain(java.name());
+        assertThat(project.plugins()).doesNotContain(spineProtoc.name());
+        assertThat(project.task(generateRejections)
+                          .getEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("no code generation in projects without Protobuf definitions, if requested")
+    void skipWithoutProto() {
+        useProperty(ProtoSources.PROPERTY, "true");
+        project.spine()
+               .enableJava()
+               .client();
+        project.spine()
+               .enableJavaScript();
+        project.evaluate();
+        PluginContainer plugins = project.project()
+                                         .getPlugins();
+        assertThat(plugins.hasPlugin(JavaPlugin.class)).isTrue();
+        assertThat(plugins.hasPlugin(ProtobufPlugin.class)).isFalse();
+        assertThat(plugins.hasPlugin(ModelCompilerPlugin.class)).isFalse();
+        assertThat(plugins.hasPlugin(ProtoJsPlugin.class)).isFalse();
+        assertThat(project.dependencies(COMPILE_ONLY)).isEmpty();
+        assertThat(project.dependencies(IMPLEMENTATION))
+                .contains("io.spine:spine-client:" + spineVersion);
+    }
+
+    @Test
+    @DisplayName("the Gradle properties set on a project without the loaded properties")
+    void readGradleProperties() {
+        useProperty(ProtoSources.PROPERTY, "true");
+        boolean enabled = BuildProperties.of(project.project())
+                                         .isEnabled(ProtoSources.PROPERTY);
+        assertThat(enabled).isTrue();
+    }
+
+    @Test
+    @DisplayName("code generation in projects with Protobuf definitions, if skipping is requested")
+    void generateWithProto() {
+        useProperty(ProtoSources.PROPERTY, "true");
+        project.withProtoFile("src/test/proto/spine/test/model.proto");
+        project.spine()
+               .enableJava();
+        project.evaluate();
+        assertThat(project.builtIns()).contains(java.name());
+        assertThat(project.project()
+                          .getPlugins()
+                          .hasPlugin(ModelCompilerPlugin.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("no code generation for projects that only define the model")
+    void noCodeForModelProjects() {
+        project.spine()
+               .assembleModel();
+        project.evaluate();
+        assertThat(project.builtIns()).containsNoneOf(java.name(), js.name());
+    }
+
+    /**
+     * Replaces the project with a new one which has the given Gradle property set.
+     */
+    private void useProperty(String name, String value) {
+        project.delete();
+        project = BootstrappedProject.withProperty(name, value);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.MoreFiles;
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+import com.google.protobuf.gradle.ProtobufConvention;
+import io.spine.testing.TempDir;
+import io.spine.tools.gradle.TaskName;
+import io.spine.tools.gradle.bootstrap.given.FakeArtifacts;
+import io.spine.tools.gradle.protoc.given.ProtocOptions;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.testfixtures.ProjectBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.spine.tools.groovy.ConsumerClosure.closure;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A project with the {@link BootstrapPlugin} applied in-process.
+ *
+ * <p>The project is created by the {@link ProjectBuilder}. The plugin is applied with
+ * the {@linkplain FakeArtifacts fake artifacts}, which point to fake repositories, and
+ * the {@code protoc} tasks are given a stub executable. No dependencies are resolved and no tasks
+ * are executed, so the project is only suitable for checking how the plugin wires the tasks,
+ * the {@code protoc} built-ins and plugins, and the dependencies.
+ *
+ * <p>The directory of the project is removed by {@link #delete()}.
+ */
+final class BootstrappedProject {
+
+    private static final String PROTOBUF_PLUGIN = "com.google.protobuf";
+    private static final String PROTOC_STUB = "protoc-stub";
+
+    private final Project project;
+    private final Extension extension;
+
+    private BootstrappedProject(Project project) {
+        this.project = project;
+        this.extension = project.getExtensions()
+                                .getByType(Extension.class);
+    }
+
+    /**
+     * Creates a new project in a temporary directory and applies the plugin to it.
+     */
+    static BootstrappedProject create() {
+        return create(project -> {});
+    }
+
+    /**
+     * Creates a new project in a temporary directory with the given Gradle property set,
+     * and applies the plugin to it.
+     *
+     * <p>The {@code ProjectBuilder} does not load the Gradle properties, so the property is set
+     * as an extra property of the project, which the plugin falls back to.
+     */
+    static BootstrappedProject withProperty(String name, String value) {
+        return create(project -> project.getExtensions()
+                                        .getExtraProperties()
+                                        .set(name, value));
+    }
+
+    private static BootstrappedProject create(Consumer<Project> setup) {
+        File projectDir = TempDir.forClass(BootstrappedProject.class);
+        Project project = ProjectBuilder
+                .builder()
+                .withProjectDir(projectDir)
+                .build();
+        setup.accept(project);
+        BootstrapPlugin.apply(project, FakeArtifacts.snapshot());
+        File protoc = protocStub(projectDir);
+        project.getPluginManager()
+               .withPlugin(PROTOBUF_PLUGIN, plugin -> useCompiler(project, protoc));
+        return new BootstrappedProject(project);
+    }
+
+    private static File protocStub(File projectDir) {
+        File stub = new File(projectDir, PROTOC_STUB);
+        write(stub, "#!/bin/sh\nexit 1\n");
+        stub.setExecutable(true);
+        return stub;
+    }
+
+    private static void write(File file, String content) {
+        try {
+            Files.createDirectories(file.getParentFile()
+                                        .toPath());
+            Files.write(file.toPath(), content.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void useCompiler(Project project, File executable) {
+        project.getConvention()
+               .getPlugin(ProtobufConvention.class)
+               .getProtobuf()
+               .protoc(closure((ExecutableLocator locator) -> locator.setPath(
+                       executable.getAbsolutePath()
+               )));
+    }
+
+    /**
+     * Obtains the {@code spine} extension of the project.
+     */
+    Extension spine() {
+        return extension;
+    }
+
+    /**
+     * Obtains the project.
+     */
+    Project project() {
+        return project;
+    }
+
+    /**
+     * Adds an empty {@code .proto} file by the given path relative to the project directory.
+     */
+    BootstrappedProject withProtoFile(String path) {
+        write(project.file(path), "syntax = \"proto3\";\n");
+        return this;
+    }
+
+    /**
+     * Evaluates the project, so that the Protobuf plugin creates the {@code protoc} tasks.
+     */
+    BootstrappedProject evaluate() {
+        ((ProjectInternal) project).evaluate();
+        return this;
+    }
+
+    /**
+     * Obtains the names of the built-ins of the {@code generateProto} task.
+     */
+    ImmutableSet<String> builtIns() {
+        return protocOptions(ProtocOptions::builtIns);
+    }
+
+    /**
+     * Obtains the names of the plugins of the {@code generateProto} task.
+     */
+    ImmutableSet<String> plugins() {
+        return protocOptions(ProtocOptions::plugins);
+    }
+
+    private ImmutableSet<String> protocOptions(
+            Function<GenerateProtoTask, ImmutableMap<String, PluginOptions>> options) {
+        Task task = project.getTasks()
+                           .findByName("generateProto");
+        if (!(task instanceof GenerateProtoTask)) {
+            return ImmutableSet.of();
+        }
+        return options.apply((GenerateProtoTask) task)
+                      .keySet();
+    }
+
+    /**
+     * Obtains the notations of the dependencies declared in the given configuration.
+     */
+    ImmutableSet<String> dependencies(String configuration) {
+        return project.getConfigurations()
+                      .getByName(configuration)
+                      .getDependencies()
+                      .stream()
+                      .map(dependency -> dependency.getGroup() + ':' + dependency.getName()
+                              + ':' + dependency.getVersion())
+                      .collect(toImmutableSet());
+    }
+
+    /**
+     * Tells if the task with the given name is registered in the project.
+     */
+    boolean hasTask(TaskName name) {
+        return project.getTasks()
+                      .getNames()
+                      .contains(name.name());
+    }
+
+    /**
+     * Obtains the task with the given name.
+     */
+    Task task(TaskName name) {
+        return project.getTasks()
+                      .getByName(name.name());
+    }
+
+    /**
+     * Deletes the directory of the project.
+     */
+    void delete() {
+        try {
+            MoreFiles.deleteRecursively(project.getProjectDir()
+                                               .toPath(), ALLOW_INSECURE);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import groovy.json.JsonSlurper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`CodegenReport` should")
+class CodegenReportTest {
+
+    @Test
+    @DisplayName("count the generated files and bytes by language")
+    void countGenerated(@TempDir Path dir) throws IOException {
+        Map<String, Object> metrics = CodegenReport.sourceSet(
+                ImmutableSet.of(file(dir, "a.proto", 1), file(dir, "b.proto", 1)),
+                ImmutableSet.of(file(dir, "A.java", 10),
+                                file(dir, "B.java", 20),
+                                file(dir, "a_pb.js", 5),
+                                file(dir, "types.dart", 7)),
+                ImmutableSet.of(file(dir, "main.desc", 42)),
+                ImmutableMap.of("generateProto", 1500L)
+        );
+        Map<?, ?> report = parse(CodegenReport.project(":model", ImmutableMap.of("main", metrics)));
+        assertThat(report.get("project")).isEqualTo(":model");
+        Map<?, ?> main = (Map<?, ?>) ((Map<?, ?>) report.get("sourceSets")).get("main");
+        assertThat(main.get("protoFiles")).isEqualTo(2);
+        assertThat(main.get("descriptorSetBytes")).isEqualTo(42);
+        Map<?, ?> generated = (Map<?, ?>) main.get("generated");
+        assertThat(generated.get("java")).isEqualTo(ImmutableMap.of("files", 2, "bytes", 30));
+        assertThat(generated.get("js")).isEqualTo(ImmutableMap.of("files", 1, "bytes", 5));
+        assertThat(generated.get("dart")).isEqualTo(ImmutableMap.of("files", 1, "bytes", 7));
+        assertThat(main.get("tasks")).isEqualTo(ImmutableMap.of("generateProto", 1500));
+    }
+
+    @Test
+    @DisplayName("sum the metrics of all the projects")
+    void aggregate(@TempDir Path dir) throws IOException {
+        File first = report(dir, ":b", 3, 100L);
+        File second = report(dir, ":a", 4, 250L);
+
+        Map<?, ?> aggregated = parse(CodegenReport.aggregate(ImmutableSet.of(first, second)));
+        Iterable<?> projects = (Iterable<?>) aggregated.get("projects");
+        assertThat(projects).hasSize(2);
+        assertThat(((Map<?, ?>) projects.iterator()
+                                        .next()).get("project")).isEqualTo(":a");
+        Map<?, ?> total = (Map<?, ?>) aggregated.get("total");
+        assertThat(total.get("protoFiles")).isEqualTo(7);
+        assertThat(total.get("tasks")).isEqualTo(ImmutableMap.of("generateProto", 350));
+    }
+
+    private static File report(Path dir, String project, int protoFiles, long millis)
+            throws IOException {
+        ImmutableSet.Builder<File> protos = ImmutableSet.builder();
+        for (int i = 0; i < protoFiles; i++) {
+            protos.add(file(dir, project.substring(1) + i + ".proto", 1));
+        }
+        Map<String, Object> metrics = CodegenReport.sourceSet(
+                protos.build(), ImmutableSet.of(), ImmutableSet.of(),
+                ImmutableMap.of("generateProto", millis)
+        );
+        String json = CodegenReport.project(project, ImmutableMap.of("main", metrics));
+        Path file = dir.resolve(project.substring(1) + ".json");
+        Files.write(file, json.getBytes(UTF_8));
+        return file.toFile();
+    }
+
+    private static File file(Path dir, String name, int size) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, new byte[size]);
+        return file.toFile();
+    }
+
+    private static Map<?, ?> parse(String json) {
+        return (Map<?, ?>) new JsonSlurper().parseText(json);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationDescriptor;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`CodegenTimings` should")
+class CodegenTimingsTest {
+
+    private static final String TASK_NAME = "generateProto";
+
+    private Provider<CodegenTimings> timings;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        Project project = ProjectBuilder.builder()
+                                        .build();
+        timings = CodegenTimings.of(project);
+        task = project.getTasks()
+                      .create(TASK_NAME);
+        CodegenTimings.measure(task, timings);
+    }
+
+    @Test
+    @DisplayName("take the time of a task from its completion event")
+    void measureExecuted() {
+        run(task);
+        timings.get()
+               .onFinish(finished(task.getPath(), 1_000L, 1_250L, false));
+
+        assertThat(timings.get()
+                          .millisOf(ImmutableList.of(task.getPath())))
+                .containsExactly(task.getPath(), 250L);
+    }
+
+    @Test
+    @DisplayName("await the completion event of a started task")
+    void awaitCompletion() throws InterruptedException {
+        run(task);
+        Thread events = new Thread(() -> {
+            sleep();
+            timings.get()
+                   .onFinish(finished(task.getPath(), 2_000L, 2_100L, false));
+        });
+        events.start();
+
+        assertThat(timings.get()
+                          .millisOf(ImmutableList.of(task.getPath())))
+                .containsExactly(task.getPath(), 100L);
+        events.join();
+    }
+
+    @Test
+    @DisplayName("not report the tasks which did not run")
+    void skipNotExecuted() {
+        timings.get()
+               .onFinish(finished(task.getPath(), 1_000L, 1_001L, true));
+
+        assertThat(timings.get()
+                          .millisOf(ImmutableList.of(task.getPath()))).isEmpty();
+    }
+
+    private static void run(Task task) {
+        task.getActions()
+            .forEach(action -> action.execute(task));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private static TaskFinishEvent finished(String taskPath,
+                                            long startTime,
+                                            long endTime,
+                                            boolean upToDate) {
+        TaskOperationDescriptor descriptor = fake(TaskOperationDescriptor.class,
+                                                  ImmutableMap.of("getTaskPath", taskPath));
+        TaskSuccessResult result = fake(TaskSuccessResult.class,
+                                        ImmutableMap.of("getStartTime", startTime,
+                                                        "getEndTime", endTime,
+                                                        "isUpToDate", upToDate,
+                                                        "isFromCache", false));
+        return fake(TaskFinishEvent.class, ImmutableMap.of("getDescriptor", descriptor,
+                                                           "getResult", result));
+    }
+
+    /**
+     * Creates an instance of the given interface which returns the given values from
+     * the methods with the respective names.
+     */
+    private static <T> T fake(Class<T> type, Map<String, Object> values) {
+        Object instance = Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (!values.containsKey(name)) {
+                        throw new UnsupportedOperationException(name);
+                    }
+                    return values.get(name);
+                });
+        return type.cast(instance);
+    }
+}
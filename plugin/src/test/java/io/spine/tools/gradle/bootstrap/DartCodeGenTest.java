@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.tools.gradle.bootstrap.DartCodeGen.versionIn;
+
+@DisplayName("`DartCodeGen` should")
+class DartCodeGenTest {
+
+    @Test
+    @DisplayName("read the tool version from a `pubspec.lock` file")
+    void readVersion() {
+        ImmutableList<String> lockFile = ImmutableList.of(
+                "packages:",
+                "  args:",
+                "    dependency: transitive",
+                "    version: \"1.6.0\"",
+                "  dart_code_gen:",
+                "    dependency: \"direct main\"",
+                "    source: hosted",
+                "    version: \"0.2.9\"",
+                "sdks:",
+                "  dart: \">=2.7.0 <3.0.0\""
+        );
+        assertThat(versionIn(lockFile)).hasValue("0.2.9");
+    }
+
+    @Test
+    @DisplayName("not find a version if the tool package is not listed")
+    void noVersion() {
+        ImmutableList<String> lockFile = ImmutableList.of(
+                "packages:",
+                "  args:",
+                "    dependency: transitive",
+                "    version: \"1.6.0\""
+        );
+        assertThat(versionIn(lockFile)).isEmpty();
+    }
+}
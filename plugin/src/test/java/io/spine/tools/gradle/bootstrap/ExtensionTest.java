@@ -46,19 +46,25 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.tasks.compile.JavaCompile;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.gradle.JavaTaskName.compileJava;
 import static io.spine.tools.gradle.ProtobufDependencies.protobufLite;
 import static io.spine.tools.gradle.bootstrap.given.FakeArtifacts.GRPC_PROTO_DEPENDENCY;
 import static io.spine.tools.gradle.bootstrap.given.FakeArtifacts.GRPC_STUB_DEPENDENCY;
@@ -600,6 +606,20 @@ class ExtensionTest {
                 .containsExactly(dependencySpec);
     }
 
+    @Test
+    @DisplayName("force the dependencies of the extensions enabled after the enforcement")
+    void forceDependenciesOfLaterExtensions() {
+        extension.setForceDependencies(true);
+        assertThat(dependencyTarget.forcedDependencies())
+                .isEmpty();
+
+        JavaExtension javaExtension = extension.enableJava();
+
+        String dependencySpec = javaExtension.protobufJavaSpec();
+        assertThat(dependencyTarget.forcedDependencies())
+                .containsExactly(dependencySpec);
+    }
+
     @Test
     @DisplayName("disable previously enabled configuration enforcement")
     void disableDependencyEnforcing() {
@@ -630,4 +650,56 @@ class ExtensionTest {
                 .comparingElementsUsing(names)
                 .containsAtLeastElementsIn(DartTaskName.values());
     }
+
+    @Test
+    @DisplayName("declare the `types.dart` file as the output of `generateDart` tasks")
+    void declareDartOutputs() {
+        extension.enableDart();
+        TaskContainer tasks = project.getTasks();
+        for (DartTaskName name : DartTaskName.values()) {
+            Task task = tasks.getByName(name.name());
+            assertThat(task).isInstanceOf(GenerateDartTask.class);
+            File typesFile = ((GenerateDartTask) task).getTypesFile()
+                                                      .getAsFile()
+                                                      .get();
+            assertThat(typesFile.getName()).isEqualTo(DartExtension.TYPES_FILE);
+            assertThat(task.getOutputs()
+                           .getFiles())
+                    .contains(typesFile);
+        }
+    }
+
+    @Test
+    @DisplayName("skip Java compilation in a non-Java project")
+    void skipJavaCompilation() {
+        extension.enableJavaScript();
+        assertThat(javaCompilationAllowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("allow Java compilation once Java is enabled")
+    void allowJavaCompilation() {
+        extension.enableJavaScript();
+        extension.enableJava();
+        assertThat(javaCompilationAllowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("not realize Java compilation tasks")
+    void keepJavaCompilationLazy() {
+        List<String> realized = new ArrayList<>();
+        project.getTasks()
+               .withType(JavaCompile.class)
+               .configureEach(task -> realized.add(task.getName()));
+        extension.enableJavaScript();
+        extension.enableJava();
+        assertThat(realized).isEmpty();
+    }
+
+    private boolean javaCompilationAllowed() {
+        TaskInternal task = (TaskInternal) project.getTasks()
+                                                  .getByName(compileJava.name());
+        return task.getOnlyIf()
+                   .isSatisfiedBy(task);
+    }
 }
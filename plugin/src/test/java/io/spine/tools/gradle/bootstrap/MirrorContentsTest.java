@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`MirrorContents` should")
+class MirrorContentsTest {
+
+    private static final String LIB_JAR = "org/example/lib/1.0/lib-1.0.jar";
+    private static final String LIB_POM = "org/example/lib/1.0/lib-1.0.pom";
+    private static final String DEPENDENCY_JAR = "org/example/dependency/2.0/dependency-2.0.jar";
+    private static final String DEPENDENCY_POM = "org/example/dependency/2.0/dependency-2.0.pom";
+    private static final String PARENT_POM = "org/example/parent/3.0/parent-3.0.pom";
+
+    private Path repository;
+    private Project project;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        repository = dir.resolve("repository");
+        project = ProjectBuilder
+                .builder()
+                .withProjectDir(dir.resolve("project")
+                                   .toFile())
+                .build();
+        project.getRepositories()
+               .maven(maven -> maven.setUrl(repository.toUri()));
+        write(PARENT_POM,
+              "<project>",
+              "  <groupId>org.example</groupId>",
+              "  <artifactId>parent</artifactId>",
+              "  <version>3.0</version>",
+              "  <packaging>pom</packaging>",
+              "</project>");
+        write(LIB_POM,
+              "<project>",
+              "  <parent>",
+              "    <groupId>org.example</groupId>",
+              "    <artifactId>parent</artifactId>",
+              "    <version>3.0</version>",
+              "  </parent>",
+              "  <artifactId>lib</artifactId>",
+              "  <version>1.0</version>",
+              "  <dependencies>",
+              "    <dependency>",
+              "      <groupId>org.example</groupId>",
+              "      <artifactId>dependency</artifactId>",
+              "      <version>2.0</version>",
+              "    </dependency>",
+              "  </dependencies>",
+              "</project>");
+        write(DEPENDENCY_POM,
+              "<project>",
+              "  <groupId>org.example</groupId>",
+              "  <artifactId>dependency</artifactId>",
+              "  <version>2.0</version>",
+              "</project>");
+        write(LIB_JAR);
+        write(DEPENDENCY_JAR);
+    }
+
+    @Test
+    @DisplayName("contain the artifacts with their dependencies, POM files and parent POMs")
+    void resolveClosure() {
+        ImmutableMap<String, File> contents =
+                MirrorContents.of(project, ImmutableList.of("org.example:lib:1.0"))
+                              .resolve();
+        assertThat(contents.keySet())
+                .containsExactly(LIB_JAR, LIB_POM, DEPENDENCY_JAR, DEPENDENCY_POM, PARENT_POM);
+        contents.forEach((path, file) -> assertThat(file.getName())
+                .isEqualTo(path.substring(path.lastIndexOf('/') + 1)));
+    }
+
+    private void write(String path, String... lines) throws IOException {
+        Path file = repository.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, ImmutableList.copyOf(lines), UTF_8);
+    }
+}
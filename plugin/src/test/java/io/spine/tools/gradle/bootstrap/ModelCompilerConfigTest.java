@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableMap;
+import io.spine.tools.gradle.compiler.Extension;
+import io.spine.tools.gradle.compiler.ModelCompilerPlugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("`ModelCompilerConfig` should")
+class ModelCompilerConfigTest {
+
+    /**
+     * The script of the {@code config} submodule which the settings are ported from.
+     *
+     * <p>The tests are executed in the directory of the {@code plugin} project.
+     */
+    private static final Path SCRIPT = Paths.get("../config/gradle/model-compiler.gradle");
+
+    @Test
+    @DisplayName("enable the generation of the validation code")
+    void enableValidation(@TempDir Path dir) {
+        Project project = modelCompilerProject(dir);
+        ModelCompilerConfig.applyTo(project);
+
+        assertThat(modelCompiler(project).generateValidation).isTrue();
+    }
+
+    @Test
+    @DisplayName("apply the same settings as the `model-compiler.gradle` script")
+    void matchScript(@TempDir Path dir) throws IllegalAccessException {
+        File script = SCRIPT.toAbsolutePath()
+                            .normalize()
+                            .toFile();
+        assumeTrue(script.isFile(), "The `config` submodule is not checked out.");
+        Project scripted = modelCompilerProject(dir);
+        scripted.apply(ImmutableMap.of("from", script));
+        Project compiled = modelCompilerProject(dir);
+        ModelCompilerConfig.applyTo(compiled);
+
+        Extension expected = modelCompiler(scripted);
+        Extension actual = modelCompiler(compiled);
+        for (Field field : Extension.class.getFields()) {
+            if (isComparable(field)) {
+                assertWithMessage("`modelCompiler.%s`", field.getName())
+                        .that(field.get(actual))
+                        .isEqualTo(field.get(expected));
+            }
+        }
+    }
+
+    /**
+     * Tells if the values of the given field are compared by their contents.
+     */
+    private static boolean isComparable(Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return false;
+        }
+        Class<?> type = field.getType();
+        return type.isPrimitive()
+                || type == String.class
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || Collection.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type);
+    }
+
+    private static Project modelCompilerProject(Path dir) {
+        Project project = ProjectBuilder
+                .builder()
+                .withProjectDir(dir.toFile())
+                .build();
+        project.getPluginManager()
+               .apply(JavaPlugin.class);
+        project.getPluginManager()
+               .apply(ModelCompilerPlugin.class);
+        return project;
+    }
+
+    private static Extension modelCompiler(Project project) {
+        return project.getExtensions()
+                      .getByType(Extension.class);
+    }
+}
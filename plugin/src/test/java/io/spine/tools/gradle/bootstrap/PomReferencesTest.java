@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.testing.TempDir;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`PomReferences` should")
+class PomReferencesTest {
+
+    private File pom;
+
+    @BeforeEach
+    void setUp() {
+        File dir = TempDir.forClass(PomReferencesTest.class);
+        dir.deleteOnExit();
+        pom = new File(dir, "module.pom");
+    }
+
+    @Test
+    @DisplayName("find the parent POM")
+    void findParent() throws IOException {
+        writePom(
+                "<project>",
+                "  <parent>",
+                "    <groupId>org.example</groupId>",
+                "    <artifactId>parent</artifactId>",
+                "    <version>1.2</version>",
+                "  </parent>",
+                "  <artifactId>module</artifactId>",
+                "</project>"
+        );
+        assertThat(PomReferences.in(pom)).containsExactly("org.example:parent:1.2@pom");
+    }
+
+    @Test
+    @DisplayName("find the imported BOMs with interpolated versions")
+    void findImportedBoms() throws IOException {
+        writePom(
+                "<project>",
+                "  <groupId>org.example</groupId>",
+                "  <artifactId>module</artifactId>",
+                "  <version>3.0</version>",
+                "  <properties>",
+                "    <netty.version>4.1.52.Final</netty.version>",
+                "  </properties>",
+                "  <dependencyManagement>",
+                "    <dependencies>",
+                "      <dependency>",
+                "        <groupId>io.netty</groupId>",
+                "        <artifactId>netty-bom</artifactId>",
+                "        <version>${netty.version}</version>",
+                "        <type>pom</type>",
+                "        <scope>import</scope>",
+                "      </dependency>",
+                "      <dependency>",
+                "        <groupId>${project.groupId}</groupId>",
+                "        <artifactId>bom</artifactId>",
+                "        <version>${project.version}</version>",
+                "        <type>pom</type>",
+                "        <scope>import</scope>",
+                "      </dependency>",
+                "      <dependency>",
+                "        <groupId>org.example</groupId>",
+                "        <artifactId>managed</artifactId>",
+                "        <version>1.0</version>",
+                "      </dependency>",
+                "    </dependencies>",
+                "  </dependencyManagement>",
+                "</project>"
+        );
+        assertThat(PomReferences.in(pom)).containsExactly("io.netty:netty-bom:4.1.52.Final@pom",
+                                                          "org.example:bom:3.0@pom");
+    }
+
+    @Test
+    @DisplayName("skip references which cannot be interpolated")
+    void skipUnknownProperties() throws IOException {
+        writePom(
+                "<project>",
+                "  <artifactId>module</artifactId>",
+                "  <dependencyManagement>",
+                "    <dependencies>",
+                "      <dependency>",
+                "        <groupId>org.example</groupId>",
+                "        <artifactId>bom</artifactId>",
+                "        <version>${unknown.version}</version>",
+                "        <type>pom</type>",
+                "        <scope>import</scope>",
+                "      </dependency>",
+                "    </dependencies>",
+                "  </dependencyManagement>",
+                "</project>"
+        );
+        assertThat(PomReferences.in(pom)).isEmpty();
+    }
+
+    private void writePom(String... lines) throws IOException {
+        Files.write(pom.toPath(), ImmutableList.copyOf(lines));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.truth.BooleanSubject;
+import io.spine.tools.gradle.bootstrap.PrefetchTask.PrefetchedConfigurations;
+import io.spine.tools.gradle.bootstrap.given.FakeArtifacts;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`PrefetchTask` should")
+class PrefetchTaskTest {
+
+    private ConfigurationContainer configurations;
+    private PrefetchedConfigurations prefetched;
+
+    @BeforeEach
+    void setUp() {
+        Project project = ProjectBuilder
+                .builder()
+                .build();
+        project.getPluginManager()
+               .apply(JavaPlugin.class);
+        configurations = project.getConfigurations();
+        prefetched = new PrefetchedConfigurations();
+    }
+
+    @Test
+    @DisplayName("prefetch the resolvable classpath configurations")
+    void prefetchClasspath() {
+        assertPrefetched("compileClasspath").isTrue();
+        assertPrefetched("testRuntimeClasspath").isTrue();
+    }
+
+    @Test
+    @DisplayName("prefetch the `protoc` tool configurations")
+    void prefetchTools() {
+        configurations.create("protobufToolsLocator_protoc");
+        assertPrefetched("protobufToolsLocator_protoc").isTrue();
+    }
+
+    @Test
+    @DisplayName("not prefetch non-resolvable configurations")
+    void skipDeclarations() {
+        assertPrefetched("implementation").isFalse();
+        assertPrefetched("compileOnly").isFalse();
+    }
+
+    @Test
+    @DisplayName("not build the projects the project depends on")
+    void skipProjectDependencies() {
+        Project root = ProjectBuilder
+                .builder()
+                .build();
+        Project library = ProjectBuilder
+                .builder()
+                .withName("library")
+                .withParent(root)
+                .build();
+        library.getPluginManager()
+               .apply(JavaPlugin.class);
+        Project app = ProjectBuilder
+                .builder()
+                .withName("app")
+                .withParent(root)
+                .build();
+        app.getPluginManager()
+           .apply(JavaPlugin.class);
+        app.getDependencies()
+           .add(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME, library);
+        BootstrapPlugin.apply(app, FakeArtifacts.snapshot());
+
+        Task prefetch = app.getTasks()
+                           .getByName(PrefetchTask.NAME);
+        Set<? extends Task> dependencies = prefetch.getTaskDependencies()
+                                                   .getDependencies(prefetch);
+        assertThat(dependencies).isEmpty();
+    }
+
+    private BooleanSubject assertPrefetched(String name) {
+        Configuration configuration = configurations.getByName(name);
+        return assertThat(prefetched.isSatisfiedBy(configuration));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@DisplayName("`ProjectTimings` should")
+class ProjectTimingsTest {
+
+    @Test
+    @DisplayName("sort the projects from the slowest to the fastest")
+    void sortProjects() {
+        ProjectTimings fast = ProjectTimings.of(":fast");
+        fast.record("apply", MILLISECONDS.toNanos(10));
+        ProjectTimings slow = ProjectTimings.of(":slow");
+        slow.record("apply", MILLISECONDS.toNanos(200));
+        slow.record("enableJava", MILLISECONDS.toNanos(300));
+
+        List<String> lines = lines(ProjectTimings.summary(ImmutableList.of(fast, slow)));
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).startsWith(":slow");
+        assertThat(lines.get(1)).contains("500 ms");
+        assertThat(lines.get(1)).contains("(enableJava 300 ms, apply 200 ms)");
+        assertThat(lines.get(2)).startsWith(":fast");
+    }
+
+    @Test
+    @DisplayName("not count nested phases in the total time")
+    void nestedPhases() {
+        ProjectTimings timings = ProjectTimings.of(":nested");
+        timings.measure("apply", () -> timings.record("prepareRepositories",
+                                                      MILLISECONDS.toNanos(1000)));
+        String project = lines(ProjectTimings.summary(ImmutableList.of(timings))).get(1);
+        assertThat(project).contains("prepareRepositories 1000 ms");
+        assertThat(project).doesNotContain(" 1000 ms  (");
+    }
+
+    @Test
+    @DisplayName("perform the measured step")
+    void performStep() {
+        String result = ProjectTimings.disabled()
+                                      .measure("step", () -> "done");
+        assertThat(result).isEqualTo("done");
+    }
+
+    private static List<String> lines(String summary) {
+        return Splitter.on(System.lineSeparator())
+                       .trimResults()
+                       .splitToList(summary);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ProtoSources` should")
+class ProtoSourcesTest {
+
+    @Test
+    @DisplayName("find nothing in a project without sources")
+    void noSources(@TempDir Path projectDir) {
+        assertThat(ProtoSources.presentIn(projectDir.toFile())).isFalse();
+    }
+
+    @Test
+    @DisplayName("ignore the files other than `.proto` and the directories other than `proto`")
+    void otherFiles(@TempDir Path projectDir) throws IOException {
+        createFile(projectDir.resolve("src/main/proto/README.md"));
+        createFile(projectDir.resolve("src/main/java/io/spine/Model.java"));
+        createFile(projectDir.resolve("src/main/resources/model.proto"));
+        Files.createDirectories(projectDir.resolve("src/test/proto/spine.proto"));
+
+        assertThat(ProtoSources.presentIn(projectDir.toFile())).isFalse();
+    }
+
+    @Test
+    @DisplayName("find `.proto` files nested in the `proto` directory of any source set")
+    void nestedProto(@TempDir Path projectDir) throws IOException {
+        createFile(projectDir.resolve("src/integrationTest/proto/spine/test/model.proto"));
+
+        assertThat(ProtoSources.presentIn(projectDir.toFile())).isTrue();
+    }
+
+    private static void createFile(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.bootstrap;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpServer;
+import io.spine.testing.TempDir;
+import io.spine.tools.gradle.bootstrap.given.FakeArtifacts;
+import io.spine.tools.gradle.config.ArtifactSnapshot;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.dsl.RepositoryHandler;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.String.format;
+
+/**
+ * Verifies the routing of the artifact lookups between the repositories.
+ *
+ * <p>The repositories are served by a local stub HTTP server which responds with
+ * {@code 404 Not Found} to every request and counts the requests sent to each repository.
+ */
+@DisplayName("`SpineRepositories` should")
+class SpineRepositoriesTest {
+
+    private static final String RELEASES = "releases";
+    private static final String SNAPSHOTS = "snapshots";
+    private static final String THIRD_PARTY = "third-party";
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        for (String repository : ImmutableList.of(RELEASES, SNAPSHOTS, THIRD_PARTY)) {
+            AtomicInteger counter = new AtomicInteger();
+            requests.put(repository, counter);
+            server.createContext('/' + repository + '/', exchange -> {
+                counter.incrementAndGet();
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+            });
+        }
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("not look up third-party artifacts in Spine repositories")
+    void routeThirdParty() {
+        resolve("com.google.guava:guava:30.0-jre");
+
+        assertThat(requestsTo(THIRD_PARTY)).isGreaterThan(0);
+        assertThat(requestsTo(RELEASES)).isEqualTo(0);
+        assertThat(requestsTo(SNAPSHOTS)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not look up Spine artifacts in the third-party repository")
+    void routeSpine() {
+        resolve("io.spine:spine-base:1.7.0");
+
+        assertThat(requestsTo(RELEASES)).isGreaterThan(0);
+        assertThat(requestsTo(THIRD_PARTY)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("look up Spine snapshots only in the snapshot repository")
+    void routeSpineSnapshots() {
+        resolve("io.spine:spine-base:1.7.1-SNAPSHOT");
+
+        assertThat(requestsTo(SNAPSHOTS)).isGreaterThan(0);
+        assertThat(requestsTo(RELEASES)).isEqualTo(0);
+        assertThat(requestsTo(THIRD_PARTY)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("replace all the repositories with a mirror")
+    void useMirror() {
+        Project project = ProjectBuilder
+                .builder()
+                .build();
+        RepositoryHandler repositories = project.getRepositories();
+        SpineRepositories.addMirror(repositories, URI.create(repositoryUrl(THIRD_PARTY)));
+
+        assertThat(repositories).hasSize(1);
+        resolve(project, "io.spine:spine-base:1.7.0");
+        resolve(project, "com.google.guava:guava:30.0-jre");
+
+        assertThat(requestsTo(THIRD_PARTY)).isGreaterThan(0);
+        assertThat(requestsTo(RELEASES)).isEqualTo(0);
+        assertThat(requestsTo(SNAPSHOTS)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("resolve a relative mirror path against the root directory")
+    void relativeMirror() {
+        File rootDir = new File("root").getAbsoluteFile();
+        URI location = SpineRepositories.mirrorLocation("mirror/maven", rootDir);
+
+        assertThat(location).isEqualTo(new File(rootDir, "mirror/maven").toURI());
+    }
+
+    @Test
+    @DisplayName("accept a mirror URL")
+    void urlMirror() {
+        String url = "https://proxy.example.org/maven/";
+        URI location = SpineRepositories.mirrorLocation(url, new File("root"));
+
+        assertThat(location).isEqualTo(URI.create(url));
+    }
+
+    /**
+     * Attempts to resolve the given dependency in a new project which uses the stub repositories.
+     *
+     * <p>The resolution is lenient, as none of the artifacts can actually be found.
+     */
+    private void resolve(String notation) {
+        File projectDir = TempDir.forClass(SpineRepositoriesTest.class);
+        projectDir.deleteOnExit();
+        Project project = ProjectBuilder
+                .builder()
+                .withProjectDir(projectDir)
+                .build();
+        ArtifactSnapshot artifacts = FakeArtifacts
+                .snapshotBuilder()
+                .setSpineRepository(repositoryUrl(RELEASES))
+                .setSpineSnapshotRepository(repositoryUrl(SNAPSHOTS))
+                .build();
+        SpineRepositories.addTo(project.getRepositories(), artifacts,
+                                repositories -> repositories.maven(
+                                        repo -> repo.setUrl(repositoryUrl(THIRD_PARTY))
+                                ));
+        resolve(project, notation);
+    }
+
+    @SuppressWarnings("CheckReturnValue") // Only the lookups are important.
+    private static void resolve(Project project, String notation) {
+        DependencyHandler dependencies = project.getDependencies();
+        Configuration configuration = project.getConfigurations()
+                                             .detachedConfiguration(dependencies.create(notation));
+        configuration.getResolvedConfiguration()
+                     .getLenientConfiguration()
+                     .getFiles();
+    }
+
+    private String repositoryUrl(String repository) {
+        InetSocketAddress address = server.getAddress();
+        return format("http://%s:%d/%s/",
+                      address.getHostString(), address.getPort(), repository);
+    }
+
+    private int requestsTo(String repository) {
+        return requests.get(repository)
+                       .get();
+    }
+}
@@ -26,29 +26,41 @@
 
 package io.spine.tools.gradle.bootstrap.func;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.MoreFiles;
 import com.google.common.truth.IterableSubject;
 import io.spine.code.proto.FileDescriptors;
 import io.spine.testing.SlowTest;
 import io.spine.testing.TempDir;
 import io.spine.tools.gradle.testing.GradleProject;
 import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static io.spine.tools.gradle.BaseTaskName.build;
-import static io.spine.tools.gradle.ProtoJsTaskName.generateJsonParsers;
 import static io.spine.tools.gradle.bootstrap.DartExtension.TYPES_FILE;
 import static java.nio.file.Files.exists;
 import static java.util.Collections.emptySet;
+import static org.gradle.testkit.runner.TaskOutcome.FROM_CACHE;
 import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -60,48 +72,53 @@ class SpineBootstrapPluginTest {
 
     private static final String ADDITIONAL_CONFIG_SCRIPT = "config.gradle";
     private static final String TRANSITIVE_JS_DEPENDENCY = "any_pb.js";
-
+    private static final String CONFIGURATION_CACHE = "--configuration-cache";
+    private static final String CONFIGURATION_CACHE_REUSED = "Reusing configuration cache.";
+    private static final String HELP_TASK = "help";
+    private static final String REALIZED_TASKS_PREFIX = "Realized tasks:";
+    private static final String JAVA_CONFIG = "spine.enableJava()";
+    private static final String JS_CONFIG = "spine.enableJavaScript()";
+    private static final String DART_CONFIG = "spine.enableDart()";
+    private static final String GENERATE_PROTO_TASK = ":generateProto";
+    private static final String BUILD_CACHE = "--build-cache";
+    private static final String INIT_SCRIPT = "--init-script";
+    private static final String SKIP_WITHOUT_PROTO = "-Pspine.codegen.skipWithoutProto=true";
+    private static final String PROTO_FILE = "roller_coaster.proto";
+    private static final String PROTO_RESOURCE = "func-test/src/main/proto/" + PROTO_FILE;
+
+    private final List<Path> tempDirs = new ArrayList<>();
     private GradleProject.Builder project;
     private Path projectDir;
 
     @BeforeEach
     void setUp() {
-        this.projectDir = TempDir.forClass(SpineBootstrapPluginTest.class).toPath();
-        projectDir.toFile().deleteOnExit();
+        this.projectDir = newTempDir();
         this.project = GradleProject
                 .newBuilder()
                 .setProjectName("func-test")
                 .setProjectFolder(projectDir.toFile())
                 .withPluginClasspath()
-                .addProtoFile("roller_coaster.proto");
-    }
-
-    @Test
-    @DisplayName("be applied to a project successfully")
-    void apply() {
-        noAdditionalConfig();
-        project.build()
-               .executeTask(build);
+                .addProtoFile(PROTO_FILE);
     }
 
-    @Test
-    @DisplayName("generate no code if none requested")
-    void generateNothing() {
-        noAdditionalConfig();
-        project.build()
-               .executeTask(build);
-        Path compiledClasses = compiledJavaClasses();
-        if (exists(compiledClasses)) {
-            File compiledClassesDirectory = compiledClasses.toFile();
-            assertThat(compiledClassesDirectory.list()).isEmpty();
+    @AfterEach
+    void deleteTempDirs() throws IOException {
+        for (Path dir : tempDirs) {
+            if (exists(dir)) {
+                MoreFiles.deleteRecursively(dir, ALLOW_INSECURE);
+            }
         }
     }
 
     @Test
-    @DisplayName("generate Java if requested")
+    @DisplayName("generate Java and assemble the model resources if requested")
     void generateJava() {
         configureJavaGeneration();
-        GradleProject project = this.project.build();
+        String resourceName = "foo.txt";
+        Set<String> emptyFile = emptySet();
+        GradleProject project =
+                this.project.createFile("generated/main/resources/" + resourceName, emptyFile)
+                            .build();
         project.executeTask(build);
 
         Collection<String> packageContents = generatedClassFileNames();
@@ -110,14 +127,6 @@ class SpineBootstrapPluginTest {
                                               "RollerCoaster.class",
                                               "Wagon.class",
                                               "Altitude.class");
-    }
-
-    @Test
-    @DisplayName("apply 'spine-model-compiler' plugin, generating descriptor set files")
-    void applyModelCompiler() {
-        configureJavaGeneration();
-        GradleProject project = this.project.build();
-        project.executeTask(build);
 
         Collection<String> resourceFiles = assembledResources();
         String projectDir = this.projectDir.getFileName()
@@ -129,18 +138,19 @@ class SpineBootstrapPluginTest {
         assertThat(containsDescriptorSetFile)
                 .isTrue();
         assertThat(resourceFiles)
-                .contains("desc.ref");
+                .containsAtLeast("desc.ref", resourceName);
     }
 
     @Test
-    @DisplayName("generate JavaScript if requested")
+    @DisplayName("generate JavaScript and an `index.js` file if requested")
     void generateJs() {
         configureJsGeneration();
         GradleProject project = this.project.build();
         project.executeTask(build);
 
         Collection<String> jsFileNames = generatedJsFileNames();
-        assertThat(jsFileNames).contains("roller_coaster_pb.js");
+        assertThat(jsFileNames).containsAtLeast("roller_coaster_pb.js", "index.js");
+        assertThat(jsFileNames).doesNotContain(TRANSITIVE_JS_DEPENDENCY);
     }
 
     @Test
@@ -162,28 +172,6 @@ class SpineBootstrapPluginTest {
                 );
     }
 
-    @Test
-    @DisplayName("generate an `index.js` file")
-    void generateIndexJs() {
-        configureJsGeneration();
-        GradleProject project = this.project.build();
-        project.executeTask(build);
-
-        Collection<String> jsFileNames = generatedJsFileNames();
-        assertThat(jsFileNames).contains("index.js");
-    }
-
-    @Test
-    @DisplayName("not generate transitive Spine dependencies for pure JS projects")
-    void skipTransitiveProtos() {
-        configureJsGeneration();
-        GradleProject project = this.project.build();
-        project.executeTask(build);
-
-        Collection<String> jsFileNames = generatedJsFileNames();
-        assertThat(jsFileNames).doesNotContain(TRANSITIVE_JS_DEPENDENCY);
-    }
-
     @Test
     @DisplayName("not generate transitive Spine dependencies for mixed projects")
     void skipTransitiveProtosForMixed() {
@@ -194,17 +182,6 @@ class SpineBootstrapPluginTest {
         assertThat(generatedClassFileNames()).doesNotContain("Any.class");
     }
 
-    @Test
-    @DisplayName("apply 'spine-proto-js-plugin'")
-    void applyJsPlugin() {
-        configureJsGeneration();
-        GradleProject project = this.project.build();
-        BuildResult result = project.executeTask(build);
-
-        assertThat(result.task(generateJsonParsers.path())
-                         .getOutcome()).isEqualTo(SUCCESS);
-    }
-
     @Test
     @DisplayName("add client dependencies to the project")
     void clientDeps() {
@@ -237,36 +214,6 @@ class SpineBootstrapPluginTest {
                                  "OrderServiceGrpc$OrderServiceImplBase.class");
     }
 
-    @Test
-    @DisplayName("register `generated/main/resources` as a resource directory")
-    void includeResources() {
-        configureJavaGeneration();
-        String resourceName = "foo.txt";
-        Set<String> emptyFile = emptySet();
-        GradleProject project =
-                this.project.createFile("generated/main/resources/" + resourceName, emptyFile)
-                            .build();
-        project.executeTask(build);
-        Collection<String> resourceFiles = assembledResources();
-        assertThat(resourceFiles).contains(resourceName);
-    }
-
-    @Test
-    @DisplayName("disable Java codegen")
-    void disableJava() {
-        configureJavaWithoutGen();
-        Path compiledClasses = compiledJavaClasses();
-        assertFalse(exists(compiledClasses));
-    }
-
-    @Test
-    @DisplayName("disable Java codegen and ignore gRPC settings")
-    void disableJavaAndGrpc() {
-        configureJavaAndGrpcWithoutGen();
-        Path compiledClasses = compiledJavaClasses();
-        assertFalse(exists(compiledClasses));
-    }
-
     @Test
     @DisplayName("disable rejection throwable generation")
     void ignoreRejections() {
@@ -290,28 +237,207 @@ class SpineBootstrapPluginTest {
                                    .exists()).isFalse();
     }
 
-    private void noAdditionalConfig() {
-        writeConfigGradle();
+    /**
+     * Checks that the configuration cache is reused for each kind of project the plugin
+     * configures.
+     *
+     * <p>Each of the {@code enable*()} methods also disables the transitivity of
+     * the {@code protobuf} configuration, so it is covered by all the configurations except
+     * the first one.
+     */
+    @ParameterizedTest(name = "`{0}`")
+    @ValueSource(strings = {
+            "",
+            JAVA_CONFIG,
+            JS_CONFIG,
+            DART_CONFIG,
+            JAVA_CONFIG + "; " + JS_CONFIG
+    })
+    @DisplayName("reuse the configuration cache on a repeated build")
+    @SuppressWarnings("CheckReturnValue") // The project files are written upon `build()`.
+    void reuseConfigurationCache(String configuration) {
+        writeConfigGradle(configuration);
+        this.project.build();
+
+        BuildResult firstRun = runWithConfigurationCache();
+        assertThat(firstRun.getOutput()).doesNotContain(CONFIGURATION_CACHE_REUSED);
+
+        BuildResult secondRun = runWithConfigurationCache();
+        assertThat(secondRun.getOutput()).contains(CONFIGURATION_CACHE_REUSED);
+    }
+
+    @Test
+    @DisplayName("reconfigure a cached build once the first `.proto` file is added")
+    @SuppressWarnings("CheckReturnValue") // The project files are written upon `build()`.
+    void reconfigureOnFirstProto() throws IOException {
+        Path dir = newTempDir();
+        GradleProject
+                .newBuilder()
+                .setProjectName("func-test")
+                .setProjectFolder(dir.toFile())
+                .withPluginClasspath()
+                .createFile(ADDITIONAL_CONFIG_SCRIPT, ImmutableSet.of(JAVA_CONFIG))
+                .build();
+
+        BuildResult withoutProto = runSkippingWithoutProto(dir, HELP_TASK);
+        assertThat(withoutProto.getOutput()).doesNotContain(CONFIGURATION_CACHE_REUSED);
+        BuildResult cached = runSkippingWithoutProto(dir, HELP_TASK);
+        assertThat(cached.getOutput()).contains(CONFIGURATION_CACHE_REUSED);
+
+        addFirstProtoFile(dir);
+        BuildResult withProto = runSkippingWithoutProto(dir, GENERATE_PROTO_TASK.substring(1));
+        assertThat(withProto.getOutput()).doesNotContain(CONFIGURATION_CACHE_REUSED);
+        assertThat(withProto.task(GENERATE_PROTO_TASK)
+                            .getOutcome()).isEqualTo(SUCCESS);
+    }
+
+    @Test
+    @DisplayName("load generated Protobuf code from the build cache in another directory")
+    @SuppressWarnings("CheckReturnValue") // The project files are written upon `build()`.
+    void relocatableProtobufTasks() throws IOException {
+        configureJavaGeneration();
+        this.project.build();
+        Path otherDir = newTempDir();
+        GradleProject
+                .newBuilder()
+                .setProjectName("func-test")
+                .setProjectFolder(otherDir.toFile())
+                .withPluginClasspath()
+                .addProtoFile(PROTO_FILE)
+                .createFile(ADDITIONAL_CONFIG_SCRIPT, ImmutableSet.of(JAVA_CONFIG))
+                .build();
+        Path initScript = buildCacheInitScript();
+
+        BuildResult firstRun = runWithBuildCache(projectDir, initScript);
+        assertThat(firstRun.task(GENERATE_PROTO_TASK)
+                           .getOutcome()).isEqualTo(SUCCESS);
+        BuildResult secondRun = runWithBuildCache(otherDir, initScript);
+        assertThat(secondRun.task(GENERATE_PROTO_TASK)
+                            .getOutcome()).isEqualTo(FROM_CACHE);
+    }
+
+    /**
+     * Checks the total number of tasks realized while the build script configures
+     * a Dart project.
+     *
+     * <p>The tasks are counted at the end of the script, i.e. before the {@code afterEvaluate}
+     * hooks. The Protobuf Gradle plugin links its tasks to the compilation tasks through
+     * {@code whenTaskAdded} in such a hook, which realizes every task of the project. Thus,
+     * the tasks realized by the end of a build are not up to this plugin.
+     */
+    @Test
+    @DisplayName("not realize any tasks while configuring a Dart project")
+    @SuppressWarnings("CheckReturnValue") // The project files are written upon `build()`.
+    void lazyDartTasks() {
+        configureDartGenerationReportingRealizedTasks();
+        this.project.build();
+
+        BuildResult result = run(HELP_TASK);
+        assertThat(realizedTasks(result)).isEmpty();
+    }
+
+    /**
+     * Creates a temporary directory which is deleted after the test.
+     */
+    private Path newTempDir() {
+        Path dir = TempDir.forClass(SpineBootstrapPluginTest.class)
+                          .toPath();
+        tempDirs.add(dir);
+        return dir;
+    }
+
+    private BuildResult runWithConfigurationCache() {
+        return run(build.name(), CONFIGURATION_CACHE);
+    }
+
+    private BuildResult run(String... arguments) {
+        return run(projectDir, arguments);
+    }
+
+    private static BuildResult run(Path projectDir, String... arguments) {
+        return GradleRunner.create()
+                           .withProjectDir(projectDir.toFile())
+                           .withPluginClasspath()
+                           .withArguments(arguments)
+                           .build();
+    }
+
+    private static BuildResult runSkippingWithoutProto(Path projectDir, String task) {
+        return run(projectDir, task, CONFIGURATION_CACHE, SKIP_WITHOUT_PROTO);
+    }
+
+    private static void addFirstProtoFile(Path projectDir) throws IOException {
+        Path protoDir = projectDir.resolve("src")
+                                  .resolve("main")
+                                  .resolve("proto");
+        Files.createDirectories(protoDir);
+        ClassLoader classLoader = SpineBootstrapPluginTest.class.getClassLoader();
+        try (InputStream proto = classLoader.getResourceAsStream(PROTO_RESOURCE)) {
+            assertNotNull(proto);
+            Files.copy(proto, protoDir.resolve(PROTO_FILE));
+        }
+    }
+
+    private static BuildResult runWithBuildCache(Path projectDir, Path initScript) {
+        return run(projectDir, GENERATE_PROTO_TASK.substring(1), BUILD_CACHE,
+                   INIT_SCRIPT, initScript.toString());
+    }
+
+    /**
+     * Creates an init script which points the builds to the same local build cache.
+     */
+    private Path buildCacheInitScript() throws IOException {
+        Path cacheDir = newTempDir();
+        String cachePath = cacheDir.resolve("cache")
+                                   .toString()
+                                   .replace('\\', '/');
+        Path initScript = cacheDir.resolve("build-cache.gradle");
+        Files.write(initScript, ImmutableList.of(
+                "settingsEvaluated { settings ->",
+                "    settings.buildCache.local.directory = new File('" + cachePath + "')",
+                "}"
+        ));
+        return initScript;
+    }
+
+    /**
+     * Obtains the names of the tasks realized by the end of the build script.
+     */
+    private static ImmutableList<String> realizedTasks(BuildResult result) {
+        String report = Splitter.on('\n')
+                                .trimResults()
+                                .splitToList(result.getOutput())
+                                .stream()
+                                .filter(line -> line.startsWith(REALIZED_TASKS_PREFIX))
+                                .findFirst()
+                                .orElseThrow(() -> new AssertionError(
+                                        "The realized tasks are not reported."
+                                ));
+        return ImmutableList.copyOf(Splitter.on(' ')
+                                            .omitEmptyStrings()
+                                            .split(report.substring(
+                                                    REALIZED_TASKS_PREFIX.length()
+                                            )));
     }
 
     private void configureJavaGeneration() {
-        writeConfigGradle("spine.enableJava()");
+        writeConfigGradle(JAVA_CONFIG);
     }
 
     private void configureJavaAndJs() {
-        writeConfigGradle("spine.enableJava()",
-                          "spine.enableJavaScript()");
+        writeConfigGradle(JAVA_CONFIG,
+                          JS_CONFIG);
     }
 
     private void configureJsGeneration() {
         writeConfigGradle(
-                "spine.enableJavaScript()"
+                JS_CONFIG
         );
     }
 
     private void configureDartGeneration() {
         writeConfigGradle(
-                "spine.enableDart()"
+                DART_CONFIG
         );
     }
 
@@ -343,22 +469,6 @@ class SpineBootstrapPluginTest {
         project.addProtoFile("restaurant.proto");
     }
 
-    private void configureJavaWithoutGen() {
-        writeConfigGradle("spine.enableJava().codegen.protobuf = false");
-    }
-
-    @SuppressWarnings("DuplicateStringLiteralInspection")
-    // Part of the file contents may be duplicated.
-    private void configureJavaAndGrpcWithoutGen() {
-        writeConfigGradle(
-                "spine.enableJava {",
-                "    codegen {",
-                "        protobuf = false",
-                "        grpc = true",
-                "    }",
-                "}");
-    }
-
     @SuppressWarnings("DuplicateStringLiteralInspection")
     // Part of the file contents may be duplicated.
     private void configureJavaWithoutProtoOrSpine() {
@@ -375,6 +485,15 @@ class SpineBootstrapPluginTest {
         writeConfigGradle("spine.assembleModel()");
     }
 
+    private void configureDartGenerationReportingRealizedTasks() {
+        writeConfigGradle(
+                "def realizedTasks = []",
+                "tasks.configureEach { realizedTasks << it.name }",
+                DART_CONFIG,
+                "println \"Realized tasks: ${realizedTasks.join(' ')}\""
+        );
+    }
+
     @SuppressWarnings("CheckReturnValue")
     private void writeConfigGradle(String... lines) {
         project.createFile(ADDITIONAL_CONFIG_SCRIPT, ImmutableSet.copyOf(lines));
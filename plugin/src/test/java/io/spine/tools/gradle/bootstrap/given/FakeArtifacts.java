@@ -42,6 +42,13 @@ public final class FakeArtifacts {
     }
 
     public static ArtifactSnapshot snapshot() {
+        return snapshotBuilder().build();
+    }
+
+    /**
+     * Creates a builder of the fake snapshot, so that the tests may override some of its values.
+     */
+    public static ArtifactSnapshot.Builder snapshotBuilder() {
         return ArtifactSnapshot
                 .newBuilder()
                 .setSpineBaseVersion(spineVersion)
@@ -54,7 +61,6 @@ public final class FakeArtifacts {
                 .setProtoc("com.google.protobuf:protoc:3.6.1")
                 .setProtobufJava("com.google.protobuf:protobuf-java:3.6.1")
                 .setSpineRepository("http://fake.maven.repo.org/releases")
-                .setSpineSnapshotRepository("http://fake.maven.repo.org/snapshots")
-                .build();
+                .setSpineSnapshotRepository("http://fake.maven.repo.org/snapshots");
     }
 }
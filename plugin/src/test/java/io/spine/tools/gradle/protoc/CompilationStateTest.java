@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+@DisplayName("`CompilationState` should")
+class CompilationStateTest {
+
+    private static final String TOOLCHAIN = "protoc-3.6.1";
+
+    private static final String BASE = "acme/base.proto";
+    private static final String USER = "acme/user.proto";
+    private static final String ORDER = "acme/order.proto";
+    private static final String UNRELATED = "acme/unrelated.proto";
+
+    /**
+     * The import graph in which {@code order} imports {@code user} which imports {@code base}.
+     */
+    private static final ImmutableSetMultimap<String, String> IMPORTS =
+            ImmutableSetMultimap.of(USER, BASE,
+                                    ORDER, USER);
+
+    private static final ImmutableMap<String, String> HASHES =
+            ImmutableMap.of(BASE, "1", USER, "2", ORDER, "3", UNRELATED, "4");
+
+    private final CompilationState state = new CompilationState(
+            TOOLCHAIN, HASHES, ImmutableMap.of("acme/Base.java", BASE,
+                                               "acme/User.java", USER,
+                                               "acme/Unrelated.java", UNRELATED)
+    );
+
+    @Test
+    @DisplayName("select the changed files and the files which import them")
+    void selectDependents() {
+        Map<String, String> current = ImmutableMap.of(BASE, "1", USER, "22", ORDER, "3",
+                                                      UNRELATED, "4");
+        assertThat(state.affected(TOOLCHAIN, current, IMPORTS))
+                .hasValue(ImmutableSet.of(USER, ORDER));
+    }
+
+    @Test
+    @DisplayName("select the new files")
+    void selectNewFiles() {
+        String newFile = "acme/new.proto";
+        Map<String, String> current = ImmutableMap.<String, String>builder()
+                .putAll(HASHES)
+                .put(newFile, "5")
+                .build();
+        assertThat(state.affected(TOOLCHAIN, current, IMPORTS))
+                .hasValue(ImmutableSet.of(newFile));
+    }
+
+    @Test
+    @DisplayName("require full compilation if the toolchain changes")
+    void fullOnToolchainChange() {
+        assertThat(state.affected("protoc-3.7.0", HASHES, IMPORTS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("require full compilation if a file is deleted")
+    void fullOnDeletion() {
+        Map<String, String> current = ImmutableMap.of(BASE, "1", USER, "2", ORDER, "3");
+        assertThat(state.affected(TOOLCHAIN, current, IMPORTS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("require full compilation if nothing changed")
+    void fullIfUnchanged() {
+        assertThat(state.affected(TOOLCHAIN, HASHES, IMPORTS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("require full compilation if all the files are affected")
+    void fullIfAllAffected() {
+        Map<String, String> current = ImmutableMap.of(BASE, "11", USER, "2", ORDER, "3",
+                                                      UNRELATED, "44");
+        assertThat(state.affected(TOOLCHAIN, current, IMPORTS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("replace the outputs of the recompiled files")
+    void replaceOutputs() {
+        Map<String, String> current = ImmutableMap.of(BASE, "1", USER, "22", ORDER, "3",
+                                                      UNRELATED, "4");
+        ImmutableSet<String> recompiled = ImmutableSet.of(USER, ORDER);
+        assertThat(state.outputsOf(recompiled)).containsExactly("acme/User.java");
+
+        CompilationState updated = state.update(current, recompiled,
+                                                ImmutableMap.of("acme/Order.java", ORDER));
+        assertThat(updated.outputsOf(recompiled)).containsExactly("acme/Order.java");
+        assertThat(updated.outputsOf(ImmutableSet.of(BASE, UNRELATED)))
+                .containsExactly("acme/Base.java", "acme/Unrelated.java");
+        assertThat(updated.affected(TOOLCHAIN, current, IMPORTS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("be written and read")
+    void writeAndRead(@TempDir Path dir) {
+        File file = dir.resolve("state.tsv")
+                               .toFile();
+        state.write(file);
+        Map<String, String> current = ImmutableMap.of(BASE, "1", USER, "2", ORDER, "33",
+                                                      UNRELATED, "4");
+        CompilationState read = CompilationState.read(file)
+                                                .orElseThrow(AssertionError::new);
+        assertThat(read.affected(TOOLCHAIN, current, IMPORTS))
+                .hasValue(ImmutableSet.of(ORDER));
+        assertThat(read.outputsOf(HASHES.keySet())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("not be read from a missing file")
+    void missingFile(@TempDir Path dir) {
+        assertThat(CompilationState.read(dir.resolve("missing.tsv")
+                                            .toFile())).isEmpty();
+    }
+}
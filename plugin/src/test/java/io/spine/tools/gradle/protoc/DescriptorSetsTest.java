@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.DescriptorProtos.FileOptions;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+
+@DisplayName("`DescriptorSets` should")
+class DescriptorSetsTest {
+
+    private static final String BASE = "acme/base.proto";
+    private static final String USER = "acme/user.proto";
+    private static final String ORDER = "acme/order.proto";
+    private static final String ID = "acme/id.proto";
+
+    @Test
+    @DisplayName("read the imports of the files")
+    void readImports(@TempDir Path dir) throws IOException {
+        File set = write(dir.resolve("set.desc"),
+                         file(BASE), file(USER, BASE), file(ORDER, USER, BASE));
+        assertThat(DescriptorSets.imports(set)
+                                 .get(ORDER)).containsExactly(USER, BASE);
+    }
+
+    @Test
+    @DisplayName("merge the recompiled files keeping the imports first")
+    void merge(@TempDir Path dir) throws IOException {
+        File previous = write(dir.resolve("previous.desc"),
+                              file(BASE), file(USER), file(ORDER, USER));
+        File update = write(dir.resolve("update.desc"),
+                            file(ID), file(USER, ID));
+        DescriptorSets.merge(previous, update);
+
+        List<FileDescriptorProto> merged = read(update);
+        assertThat(merged.stream()
+                         .map(FileDescriptorProto::getName)
+                         .collect(toImmutableList()))
+                .containsExactly(BASE, ID, USER, ORDER)
+                .inOrder();
+        assertThat(merged.get(2)
+                         .getDependencyList()).containsExactly(ID);
+    }
+
+    @Test
+    @DisplayName("compose the paths of the gRPC stubs in the Java package of the file")
+    void composeGrpcStubs(@TempDir Path dir) throws IOException {
+        FileDescriptorProto services = file(ID)
+                .toBuilder()
+                .setPackage("acme")
+                .setOptions(FileOptions.newBuilder()
+                                       .setJavaPackage("com.acme.api"))
+                .addService(ServiceDescriptorProto.newBuilder()
+                                                  .setName("Users"))
+                .addService(ServiceDescriptorProto.newBuilder()
+                                                  .setName("Orders"))
+                .build();
+        FileDescriptorProto noServices = file(BASE)
+                .toBuilder()
+                .setPackage("acme")
+                .build();
+        File set = write(dir.resolve("set.desc"), services, noServices);
+
+        assertThat(DescriptorSets.grpcStubs(set))
+                .containsExactly("com/acme/api/UsersGrpc.java", ID,
+                                 "com/acme/api/OrdersGrpc.java", ID);
+    }
+
+    private static FileDescriptorProto file(String name, String... imports) {
+        return FileDescriptorProto
+                .newBuilder()
+                .setName(name)
+                .addAllDependency(asList(imports))
+                .build();
+    }
+
+    private static File write(Path path, FileDescriptorProto... files) throws IOException {
+        FileDescriptorSet set = FileDescriptorSet
+                .newBuilder()
+                .addAllFile(asList(files))
+                .build();
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            set.writeTo(stream);
+        }
+        return path.toFile();
+    }
+
+    private static List<FileDescriptorProto> read(File file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return FileDescriptorSet.parseFrom(stream)
+                                    .getFileList();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.ProtobufConvention;
+import com.google.protobuf.gradle.ProtobufPlugin;
+import io.spine.tools.gradle.protoc.ProtocPlugin.Name;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.groovy.ConsumerClosure.closure;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compiles Protobuf definitions with a real {@code protoc} task in the incremental mode.
+ *
+ * <p>The {@code protoc} and gRPC executables are resolved from Maven Central.
+ */
+@DisplayName("`IncrementalCompilation` should")
+class IncrementalCompilationTest {
+
+    private static final String COMPILER = "com.google.protobuf:protoc:3.13.0";
+    private static final String GRPC = "io.grpc:protoc-gen-grpc-java:1.28.1";
+    private static final long OLD_TIMESTAMP = 1_000_000_000_000L;
+
+    private static final String BASE = "acme/base.proto";
+    private static final String USER = "acme/user.proto";
+    private static final String ORDER = "acme/order.proto";
+    private static final String UNRELATED = "acme/unrelated.proto";
+    private static final String SERVICES = "acme/services.proto";
+
+    private Project project;
+    private GenerateProtoTask task;
+    private Path protoDir;
+    private Path javaDir;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        project = ProjectBuilder
+                .builder()
+                .withProjectDir(dir.toFile())
+                .build();
+        project.getExtensions()
+               .getExtraProperties()
+               .set(ProtobufGenerator.INCREMENTAL_PROPERTY, "true");
+        project.getPluginManager()
+               .apply(JavaPlugin.class);
+        project.getPluginManager()
+               .apply(ProtobufPlugin.class);
+        project.getRepositories()
+               .mavenCentral();
+        ProtobufGenerator.of(project)
+                         .useCompiler(COMPILER);
+        protoDir = dir.resolve("src/main/proto");
+        writeProto(BASE, "message Base { string id = 1; }");
+        writeProto(USER, "import \"acme/base.proto\";",
+                   "message User { Base base = 1; }");
+        writeProto(ORDER, "import \"acme/user.proto\";",
+                   "message Order { User user = 1; }");
+        writeProto(UNRELATED, "message Unrelated { string id = 1; }");
+    }
+
+    private void evaluate() {
+        ((ProjectInternal) project).evaluate();
+        task = (GenerateProtoTask) project.getTasks()
+                                          .getByName("generateProto");
+        javaDir = outputDir("java");
+    }
+
+    private Path outputDir(String generator) {
+        return new File(task.getOutputBaseDir(), generator).toPath()
+                                                           .resolve("acme");
+    }
+
+    @Test
+    @DisplayName("recompile only the changed file and its dependents")
+    void recompileDependents() throws IOException {
+        evaluate();
+        run(task);
+        makeGeneratedCodeOld();
+
+        writeProto(USER, "import \"acme/base.proto\";",
+                   "message User { Base base = 1; string name = 2; }");
+        run(task);
+
+        assertThat(isRegenerated("UserOuterClass.java")).isTrue();
+        assertThat(isRegenerated("OrderOuterClass.java")).isTrue();
+        assertThat(isRegenerated("BaseOuterClass.java")).isFalse();
+        assertThat(isRegenerated("UnrelatedOuterClass.java")).isFalse();
+        assertThat(new String(Files.readAllBytes(javaDir.resolve("UserOuterClass.java")), UTF_8))
+                .contains("getName");
+    }
+
+    @Test
+    @DisplayName("keep all the types in the descriptor set")
+    void mergeDescriptorSet() throws IOException {
+        evaluate();
+        run(task);
+        writeProto(UNRELATED, "message Unrelated { string id = 1; int32 version = 2; }");
+        run(task);
+
+        assertThat(descriptorSetFiles()).containsExactly(BASE, USER, ORDER, UNRELATED);
+    }
+
+    @Test
+    @DisplayName("compile all the files when the task is not running")
+    void exposeAllSources() throws IOException {
+        evaluate();
+        run(task);
+        writeProto(USER, "import \"acme/base.proto\";",
+                   "message User { Base base = 1; string email = 2; }");
+
+        assertThat(task.getSourceFiles()
+                       .getFiles()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("delete the gRPC stub of a removed service")
+    void deleteRemovedServiceStub() throws IOException {
+        writeProto(SERVICES, "import \"acme/user.proto\";",
+                   "service Users { rpc Find(User) returns (User); }",
+                   "service Archive { rpc Store(User) returns (User); }");
+        enableGrpc();
+        evaluate();
+        run(task);
+        Path grpcDir = outputDir("grpc");
+        assertThat(grpcDir.resolve("ArchiveGrpc.java")
+                          .toFile()
+                          .exists()).isTrue();
+
+        writeProto(SERVICES, "import \"acme/user.proto\";",
+                   "service Users { rpc Find(User) returns (User); }");
+        run(task);
+
+        assertThat(grpcDir.resolve("ArchiveGrpc.java")
+                          .toFile()
+                          .exists()).isFalse();
+        assertThat(grpcDir.resolve("UsersGrpc.java")
+                          .toFile()
+                          .exists()).isTrue();
+    }
+
+    private void enableGrpc() {
+        project.getConvention()
+               .getPlugin(ProtobufConvention.class)
+               .getProtobuf()
+               .plugins(closure((NamedDomainObjectContainer<ExecutableLocator> locators) ->
+                       locators.create(Name.grpc.name(), locator -> locator.setArtifact(GRPC))
+               ));
+        ProtobufGenerator.of(project)
+                         .enablePlugin(ProtocPlugin.called(Name.grpc));
+    }
+
+    private void writeProto(String name, String... body) throws IOException {
+        Path file = protoDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        List<String> lines = ImmutableList.<String>builder()
+                .add("syntax = \"proto3\";")
+                .add("package acme;")
+                .add(body)
+                .build();
+        Files.write(file, lines, UTF_8);
+    }
+
+    private void makeGeneratedCodeOld() throws IOException {
+        try (Stream<Path> files = Files.list(javaDir)) {
+            for (Path file : files.collect(toList())) {
+                assertThat(file.toFile()
+                               .setLastModified(OLD_TIMESTAMP)).isTrue();
+            }
+        }
+    }
+
+    private boolean isRegenerated(String javaFile) {
+        File file = javaDir.resolve(javaFile)
+                           .toFile();
+        assertThat(file.exists()).isTrue();
+        return file.lastModified() != OLD_TIMESTAMP;
+    }
+
+    private List<String> descriptorSetFiles() throws IOException {
+        try (InputStream stream = Files.newInputStream(new File(task.getDescriptorPath())
+                                                               .toPath())) {
+            return FileDescriptorSet.parseFrom(stream)
+                                    .getFileList()
+                                    .stream()
+                                    .map(FileDescriptorProto::getName)
+                                    .collect(toList());
+        }
+    }
+
+    /**
+     * Executes the actions of the given task, as Gradle does when the task is out of date.
+     */
+    private static void run(Task task) {
+        task.getActions()
+            .forEach(action -> action.execute(task));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.ProtobufPlugin;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ProtoFiles` should")
+class ProtoFilesTest {
+
+    @Test
+    @DisplayName("obtain the proto files by the names used to import them")
+    void byName(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("src/main/proto/acme/order.proto");
+        Files.createDirectories(file.getParent());
+        Files.write(file, ImmutableList.of("syntax = \"proto3\";"));
+        Project project = ProjectBuilder
+                .builder()
+                .withProjectDir(dir.toFile())
+                .build();
+        project.getPluginManager()
+               .apply(JavaPlugin.class);
+        project.getPluginManager()
+               .apply(ProtobufPlugin.class);
+        ((ProjectInternal) project).evaluate();
+        GenerateProtoTask task = (GenerateProtoTask) project.getTasks()
+                                                            .getByName("generateProto");
+
+        Optional<Map<String, File>> files = ProtoFiles.byName(task);
+
+        assertThat(files.isPresent()).isTrue();
+        assertThat(files.get()).containsExactly("acme/order.proto", file.toFile());
+    }
+}
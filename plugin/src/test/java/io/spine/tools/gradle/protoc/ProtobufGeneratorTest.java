@@ -0,0 +1,236 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+import com.google.protobuf.gradle.ProtobufConfigurator;
+import com.google.protobuf.gradle.ProtobufConvention;
+import com.google.protobuf.gradle.ProtobufPlugin;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.PluginManager;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.Name.js;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.called;
+import static io.spine.tools.gradle.protoc.ProtocPlugin.withOption;
+import static io.spine.tools.gradle.protoc.given.ProtocOptions.builtIns;
+import static io.spine.tools.groovy.ConsumerClosure.closure;
+
+@DisplayName("`ProtobufGenerator` should")
+class ProtobufGeneratorTest {
+
+    private static final String COMPILER = "com.google.protobuf:protoc:3.6.1";
+
+    @Test
+    @DisplayName("configure `protoc` tasks a constant number of times regardless of toggles")
+    void constantConfigurationCount() {
+        int singleToggle = builtInChanges(1);
+        int manyToggles = builtInChanges(100);
+        assertThat(singleToggle).isGreaterThan(0);
+        assertThat(manyToggles).isEqualTo(singleToggle);
+    }
+
+    @Test
+    @DisplayName("apply the final state of a toggled built-in")
+    void applyFinalState() {
+        Project project = protobufProject();
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
+        ProtocPlugin plugin = called(js);
+        generator.enableBuiltIn(plugin);
+        generator.disableBuiltIn(plugin);
+        generator.enableBuiltIn(plugin);
+        generator.disableBuiltIn(plugin);
+        evaluate(project);
+
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .forEach(task -> assertThat(builtIns(task)).doesNotContainKey(js.name()));
+    }
+
+    @Test
+    @DisplayName("add each option of a built-in once")
+    void stableOptions() {
+        Project project = protobufProject();
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
+        String option = "import_style=commonjs";
+        generator.enableBuiltIn(withOption(js, option));
+        generator.enableBuiltIn(withOption(js, option));
+        evaluate(project);
+
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .forEach(task -> assertThat(builtIns(task).get(js.name())
+                                                         .getOptions())
+                       .containsExactly(option));
+    }
+
+    @Test
+    @DisplayName("share a single instance within a project")
+    void singleInstancePerProject() {
+        Project project = protobufProject();
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
+        assertThat(ProtobufGenerator.of(project)).isSameInstanceAs(generator);
+
+        Project anotherProject = protobufProject();
+        assertThat(ProtobufGenerator.of(anotherProject)).isNotSameInstanceAs(generator);
+    }
+
+    @Test
+    @DisplayName("share the `protoc` executable between the projects of a build")
+    void shareCompiler() {
+        Project root = protobufProject();
+        Project child = protobufProject(root);
+        ProtobufGenerator.of(root)
+                         .useCompiler(COMPILER);
+        ProtobufGenerator.of(child)
+                         .useCompiler(COMPILER);
+        evaluate(root);
+        evaluate(child);
+
+        ExecutableLocator rootCompiler = compiler(root);
+        ExecutableLocator childCompiler = compiler(child);
+        assertThat(rootCompiler.getArtifact()).isNull();
+        assertThat(childCompiler.getArtifact()).isNull();
+        assertThat(rootCompiler.getPath()).isEqualTo(childCompiler.getPath());
+        assertThat(rootCompiler.getPath()).startsWith(root.getRootDir()
+                                                          .getAbsolutePath());
+    }
+
+    @Test
+    @DisplayName("declare the shared `protoc` executable as an input of the `protoc` tasks")
+    void trackSharedCompiler() {
+        Project project = protobufProject();
+        ProtobufGenerator.of(project)
+                         .useCompiler(COMPILER);
+        evaluate(project);
+
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .forEach(task -> assertThat(task.getInputs()
+                                               .getProperties()
+                                               .get("spineProtoc"))
+                       .isEqualTo(COMPILER + ':' + classifier(project) + "@exe"));
+    }
+
+    @Test
+    @DisplayName("not share the `protoc` executable overridden in a build script")
+    void keepOverriddenCompiler() {
+        Project project = protobufProject();
+        ProtobufGenerator.of(project)
+                         .useCompiler(COMPILER);
+        String custom = "com.google.protobuf:protoc:3.6.0";
+        protobuf(project).protoc(closure(
+                (ExecutableLocator locator) -> locator.setArtifact(custom)
+        ));
+        evaluate(project);
+
+        ExecutableLocator compiler = compiler(project);
+        assertThat(compiler.getArtifact()).isEqualTo(custom);
+        assertThat(compiler.getPath()).isNull();
+    }
+
+    /**
+     * Counts the changes of the {@code protoc} built-ins of the Protobuf generation tasks
+     * after the {@code js} built-in is toggled the given number of times.
+     */
+    private static int builtInChanges(int toggles) {
+        Project project = protobufProject();
+        AtomicInteger changes = new AtomicInteger();
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .configureEach(task -> {
+                   NamedDomainObjectContainer<PluginOptions> builtIns = task.getBuiltins();
+                   builtIns.whenObjectAdded(options -> changes.incrementAndGet());
+                   builtIns.whenObjectRemoved(options -> changes.incrementAndGet());
+               });
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
+        ProtocPlugin plugin = called(js);
+        for (int i = 0; i < toggles; i++) {
+            generator.enableBuiltIn(plugin);
+            generator.disableBuiltIn(plugin);
+        }
+        generator.enableBuiltIn(plugin);
+        evaluate(project);
+        return changes.get();
+    }
+
+    private static Project protobufProject() {
+        Project project = ProjectBuilder
+                .builder()
+                .build();
+        return withProtobuf(project);
+    }
+
+    private static Project protobufProject(Project parent) {
+        Project project = ProjectBuilder
+                .builder()
+                .withParent(parent)
+                .build();
+        return withProtobuf(project);
+    }
+
+    private static Project withProtobuf(Project project) {
+        PluginManager plugins = project.getPluginManager();
+        plugins.apply(JavaPlugin.class);
+        plugins.apply(ProtobufPlugin.class);
+        return project;
+    }
+
+    private static ProtobufConfigurator protobuf(Project project) {
+        return project.getConvention()
+                      .getPlugin(ProtobufConvention.class)
+                      .getProtobuf();
+    }
+
+    private static ExecutableLocator compiler(Project project) {
+        AtomicReference<ExecutableLocator> compiler = new AtomicReference<>();
+        protobuf(project).protoc(closure((ExecutableLocator locator) -> compiler.set(locator)));
+        return compiler.get();
+    }
+
+    private static Object classifier(Project project) {
+        Object osDetector = project.getExtensions()
+                                   .getByName("osdetector");
+        return InvokerHelper.getProperty(osDetector, "classifier");
+    }
+
+    private static void evaluate(Project project) {
+        ((ProjectInternal) project).evaluate();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`ProtocShards` should")
+class ProtocShardsTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) {
+        this.dir = dir;
+    }
+
+    @Test
+    @DisplayName("balance the total sizes of the shards")
+    void balance() throws IOException {
+        File large = file("large.proto", 900);
+        File medium = file("medium.proto", 500);
+        File small = file("small.proto", 400);
+        File tiny = file("tiny.proto", 100);
+        ImmutableList<ImmutableList<File>> shards =
+                ProtocShards.partition(ImmutableList.of(tiny, small, medium, large), 2);
+        assertThat(shards).containsExactly(ImmutableList.of(large, tiny),
+                                           ImmutableList.of(medium, small));
+    }
+
+    @Test
+    @DisplayName("split the files which import one another")
+    void ignoreImports() throws IOException {
+        File base = file("base.proto", "message Base { string id = 1; }");
+        File user = file("user.proto", "import \"base.proto\";",
+                         "message User { Base base = 1; }");
+        ImmutableList<ImmutableList<File>> shards =
+                ProtocShards.partition(ImmutableList.of(base, user), 2);
+        assertThat(shards).containsExactly(ImmutableList.of(user), ImmutableList.of(base));
+    }
+
+    @Test
+    @DisplayName("use all the shards for a source set with a common imported file")
+    void commonImport() throws IOException {
+        List<File> files = new ArrayList<>();
+        files.add(file("acme/common.proto",
+                       "message Id { string uuid = 1; }"));
+        for (int i = 0; i < 40; i++) {
+            files.add(file("acme/entity" + i + ".proto",
+                           "import \"acme/common.proto\";",
+                           "message Entity" + i + " { Id id = 1; string name = 2; }"));
+        }
+        ImmutableList<ImmutableList<File>> shards = ProtocShards.partition(files, 4);
+        assertThat(shards).hasSize(4);
+        shards.forEach(shard -> assertThat(shard.size()).isIn(ImmutableList.of(10, 11)));
+        assertThat(shards.stream()
+                         .mapToInt(List::size)
+                         .sum())
+                .isEqualTo(files.size());
+    }
+
+    @Test
+    @DisplayName("not depend on the order of the files")
+    void deterministic() throws IOException {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            files.add(file("file" + i + ".proto", 100));
+        }
+        ImmutableList<ImmutableList<File>> shards = ProtocShards.partition(files, 3);
+        Collections.reverse(files);
+        assertThat(ProtocShards.partition(files, 3)).isEqualTo(shards);
+    }
+
+    @Test
+    @DisplayName("not create more shards than the files")
+    void noEmptyShards() throws IOException {
+        ImmutableList<File> files = ImmutableList.of(file("first.proto", 10),
+                                                     file("second.proto", 20));
+        assertThat(ProtocShards.partition(files, 16)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive number of shards")
+    void positiveCount() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> ProtocShards.partition(ImmutableList.of(), 0));
+    }
+
+    private File file(String name, int size) throws IOException {
+        return file(name, Strings.repeat("/", size));
+    }
+
+    private File file(String name, String... lines) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, ImmutableList.copyOf(lines), UTF_8);
+        return file.toFile();
+    }
+}
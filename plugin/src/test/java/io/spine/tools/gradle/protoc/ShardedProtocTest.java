@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.ProtobufPlugin;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compiles Protobuf definitions with a real {@code protoc} task split into shards.
+ *
+ * <p>The {@code protoc} executable is resolved from Maven Central.
+ */
+@DisplayName("`ShardedProtoc` should")
+class ShardedProtocTest {
+
+    private static final String COMPILER = "com.google.protobuf:protoc:3.13.0";
+    private static final int SHARDS = 3;
+    private static final int ENTITIES = 12;
+    private static final String COMMON = "acme/common.proto";
+
+    private final List<String> protoFiles = new ArrayList<>();
+    private Project project;
+    private GenerateProtoTask task;
+    private Path protoDir;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        project = ProjectBuilder
+                .builder()
+                .withProjectDir(dir.toFile())
+                .build();
+        project.getPluginManager()
+               .apply(JavaPlugin.class);
+        project.getPluginManager()
+               .apply(ProtobufPlugin.class);
+        project.getRepositories()
+               .mavenCentral();
+        ProtobufGenerator generator = ProtobufGenerator.of(project);
+        generator.useCompiler(COMPILER);
+        generator.compileInShards(SHARDS);
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .configureEach(task -> task.setGenerateDescriptorSet(true));
+        protoDir = dir.resolve("src/main/proto");
+        writeProto(COMMON, "message Id { string uuid = 1; }");
+        for (int i = 0; i < ENTITIES; i++) {
+            writeProto("acme/entity" + i + ".proto",
+                       "import \"" + COMMON + "\";",
+                       "message Entity" + i + " { Id id = 1; string name = 2; }");
+        }
+        ((ProjectInternal) project).evaluate();
+        task = (GenerateProtoTask) project.getTasks()
+                                          .getByName("generateProto");
+    }
+
+    @Test
+    @DisplayName("compile the files in several `protoc` processes")
+    void compileInShards() throws IOException {
+        run();
+
+        File javaDir = new File(task.getOutputBaseDir(), "java/acme");
+        assertThat(new File(javaDir, "Common.java").exists()).isTrue();
+        for (int i = 0; i < ENTITIES; i++) {
+            assertThat(new File(javaDir, "Entity" + i + "OuterClass.java").exists()).isTrue();
+        }
+        File[] shardDescriptors = task.getTemporaryDir()
+                                      .listFiles((d, name) -> name.endsWith(".desc"));
+        assertThat(shardDescriptors).hasLength(SHARDS);
+        assertThat(descriptorSetFiles()).containsExactlyElementsIn(protoFiles);
+    }
+
+    @Test
+    @DisplayName("fail if the task has no compilation action")
+    void failWithoutCompileAction() {
+        task.getActions()
+            .clear();
+        assertThrows(GradleException.class, () -> ShardedProtoc.applyTo(task, SHARDS));
+    }
+
+    @Test
+    @DisplayName("read the version of the Protobuf plugin from the name of its JAR")
+    void readPluginVersion() {
+        assertThat(ShardedProtoc.versionOf(
+                "/caches/modules-2/files-2.1/com.google.protobuf/protobuf-gradle-plugin/0.8.13/" +
+                        "a1b2c3/protobuf-gradle-plugin-0.8.13.jar"
+        )).hasValue("0.8.13");
+        assertThat(ShardedProtoc.versionOf("/build/classes/groovy/main/")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("fail at configuration if the version of the Protobuf plugin is not supported")
+    void failForUnsupportedPlugin() {
+        GradleException exception = assertThrows(
+                GradleException.class,
+                () -> ShardedProtoc.checkSupported(task.getPath(), Optional.of("0.9.1"))
+        );
+        assertThat(exception).hasMessageThat()
+                             .contains(ShardedProtoc.SUPPORTED_PLUGIN_VERSION);
+    }
+
+    @Test
+    @DisplayName("accept the plugin of an unknown version which has the required internals")
+    void acceptPluginWithInternals() {
+        ShardedProtoc.checkSupported(task.getPath(), Optional.empty());
+        ShardedProtoc.checkSupported(task.getPath(),
+                                     Optional.of(ShardedProtoc.SUPPORTED_PLUGIN_VERSION));
+    }
+
+    private void writeProto(String name, String... body) throws IOException {
+        Path file = protoDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        List<String> lines = ImmutableList.<String>builder()
+                .add("syntax = \"proto3\";")
+                .add("package acme;")
+                .add(body)
+                .build();
+        Files.write(file, lines, UTF_8);
+        protoFiles.add(name);
+    }
+
+    private List<String> descriptorSetFiles() throws IOException {
+        try (InputStream stream = Files.newInputStream(new File(task.getDescriptorPath())
+                                                               .toPath())) {
+            return FileDescriptorSet.parseFrom(stream)
+                                    .getFileList()
+                                    .stream()
+                                    .map(FileDescriptorProto::getName)
+                                    .collect(toList());
+        }
+    }
+
+    /**
+     * Executes the actions of the task, as Gradle does when the task is out of date.
+     *
+     * <p>The Worker API requires the work to be submitted from a running build operation.
+     */
+    private void run() {
+        BuildOperationExecutor operations = ((ProjectInternal) project)
+                .getServices()
+                .get(BuildOperationExecutor.class);
+        operations.run(new RunnableBuildOperation() {
+            @Override
+            public void run(BuildOperationContext context) {
+                task.getActions()
+                    .forEach(action -> action.execute(task));
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Execute " + task.getPath());
+            }
+        });
+    }
+}
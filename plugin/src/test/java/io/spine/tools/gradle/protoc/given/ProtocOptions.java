@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.gradle.protoc.given;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import com.google.protobuf.gradle.GenerateProtoTask.PluginOptions;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+
+/**
+ * Reads the {@code protoc} built-ins and plugins of a configured {@link GenerateProtoTask}.
+ *
+ * <p>{@link GenerateProtoTask#getBuiltins()} and {@link GenerateProtoTask#getPlugins()} throw
+ * once the Protobuf plugin finishes the configuration of the task, i.e. after the project is
+ * evaluated. The options are read through the accessors which the task uses to declare them
+ * as its inputs instead.
+ */
+public final class ProtocOptions {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ProtocOptions() {
+    }
+
+    /**
+     * Obtains the built-ins of the given task by their names.
+     */
+    public static ImmutableMap<String, PluginOptions> builtIns(GenerateProtoTask task) {
+        return options(task, "getBuiltinsForCaching");
+    }
+
+    /**
+     * Obtains the plugins of the given task by their names.
+     */
+    public static ImmutableMap<String, PluginOptions> plugins(GenerateProtoTask task) {
+        return options(task, "getPluginsForCaching");
+    }
+
+    private static ImmutableMap<String, PluginOptions>
+    options(GenerateProtoTask task, String accessor) {
+        try {
+            Method method = GenerateProtoTask.class.getDeclaredMethod(accessor);
+            method.setAccessible(true);
+            @SuppressWarnings("unchecked") // Guaranteed by the Protobuf plugin.
+            Collection<PluginOptions> options = (Collection<PluginOptions>) method.invoke(task);
+            return options.stream()
+                          .collect(toImmutableMap(PluginOptions::getName, option -> option));
+        } catch (NoSuchMethodException | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -27,3 +27,4 @@
 rootProject.name = "spine-bootstrap"
 
 include(":plugin")
+include(":benchmarks")